@@ -209,6 +209,8 @@ public class Messages extends NLS {
 
   public static String MavenConsoleImpl_title;
 
+  public static String MavenConsoleImpl_dropped;
+
   public static String MavenConsolePageParticipant_any;
 
   public static String MavenConsolePageParticipant_error;
@@ -14,7 +14,12 @@ package org.eclipse.m2e.core.ui.internal.console;
 import java.io.IOException;
 import java.util.Date;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.ibm.icu.text.DateFormat;
 import com.ibm.icu.util.ULocale;
@@ -23,6 +28,7 @@ import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Display;
@@ -71,6 +77,34 @@ public class MavenConsoleImpl extends IOConsole implements MavenConsole, IProper
 
   private List<IMavenConsoleListener> listeners = new CopyOnWriteArrayList<IMavenConsoleListener>();
 
+  /**
+   * Maximum number of lines waiting to be written to the console, oldest lines are dropped when exceeded.
+   */
+  private static final int HIGH_WATER_MARK = Integer.getInteger(
+      "org.eclipse.m2e.console.highWaterMark", 10000); //$NON-NLS-1$
+
+  /**
+   * Maximum number of lines written by one UI task.
+   */
+  private static final int MAX_BATCH = 2000;
+
+  private final Queue<ConsoleDocument.ConsoleLine> pending = new ConcurrentLinkedQueue<ConsoleDocument.ConsoleLine>();
+
+  private final AtomicInteger backlog = new AtomicInteger();
+
+  private final AtomicLong dropped = new AtomicLong();
+
+  // accessed from UI thread only
+  private long reportedDropped;
+
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+  private final Runnable drainTask = new Runnable() {
+    public void run() {
+      drainLines();
+    }
+  };
+
   public MavenConsoleImpl(ImageDescriptor imageDescriptor) {
     super(TITLE, imageDescriptor);
     this.setConsoleDocument(new ConsoleDocument());
@@ -120,46 +154,107 @@ public class MavenConsoleImpl extends IOConsole implements MavenConsole, IProper
    */
   protected void dumpConsole() {
     setVisible(true);
-    ConsoleDocument.ConsoleLine[] lines = getConsoleDocument().getLines();
-    for(int i = 0; i < lines.length; i++ ) {
-      ConsoleDocument.ConsoleLine line = lines[i];
-      appendLine(line.type, line.line);
+    // queued lines are newer than the lines kept in the document, write the document directly
+    StringBuilder buf = new StringBuilder();
+    int bufType = -1;
+    for(ConsoleDocument.ConsoleLine line : getConsoleDocument().getLines()) {
+      bufType = appendBatch(buf, bufType, line);
     }
+    writeLines(bufType, buf.toString());
     getConsoleDocument().clear();
   }
 
-  private void appendLine(final int type, final String line) {
-    show(false);
+  private void appendLine(int type, String line) {
+    pending.add(new ConsoleDocument.ConsoleLine(line, type));
+    if(backlog.incrementAndGet() > HIGH_WATER_MARK && pending.poll() != null) {
+      // drop oldest output rather than let the UI fall further behind
+      backlog.decrementAndGet();
+      dropped.incrementAndGet();
+    }
     //the synchronization here caused a deadlock. since the writes are simply appending to the output stream
     //or the document, just doing it on the main thread to avoid deadlocks and or corruption of the 
-    //document or output stream
-    Display.getDefault().asyncExec(new Runnable() {
-      public void run() {
-        if(isVisible()) {
-          try {
-            switch(type) {
-              case ConsoleDocument.COMMAND:
-                getCommandStream().write(line);
-                getCommandStream().write('\n');
-                break;
-              case ConsoleDocument.MESSAGE:
-                getMessageStream().write(line);
-                getMessageStream().write('\n');
-                break;
-              case ConsoleDocument.ERROR:
-                getErrorStream().write(line);
-                getErrorStream().write('\n');
-                break;
-            }
-          } catch(IOException ex) {
-            // Don't log using slf4j - it will cause a cycle
-            ex.printStackTrace();
-          }
-        } else {
-          getConsoleDocument().appendConsoleLine(type, line);
-        }
+    //document or output stream. Lines appended while the UI task is pending are written by the same task.
+    if(drainScheduled.compareAndSet(false, true)) {
+      Display.getDefault().asyncExec(drainTask);
+    }
+  }
+
+  /**
+   * Writes pending lines to the console streams, consecutive lines of the same type are written at once. Is always
+   * called from main thread.
+   */
+  void drainLines() {
+    drainScheduled.set(false);
+    long droppedLines = dropped.get();
+    if(droppedLines > reportedDropped) {
+      writeLines(ConsoleDocument.ERROR, NLS.bind(Messages.MavenConsoleImpl_dropped, droppedLines - reportedDropped)
+          + '\n');
+      reportedDropped = droppedLines;
+    }
+    StringBuilder buf = new StringBuilder();
+    int bufType = -1;
+    ConsoleDocument.ConsoleLine line;
+    for(int i = 0; i < MAX_BATCH && (line = pending.poll()) != null; i++ ) {
+      backlog.decrementAndGet();
+      if(!isVisible()) {
+        getConsoleDocument().appendConsoleLine(line.type, line.line);
+        continue;
       }
-    });
+      bufType = appendBatch(buf, bufType, line);
+    }
+    writeLines(bufType, buf.toString());
+    if(!pending.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+      // give other UI events a chance before writing the rest
+      Display.getDefault().asyncExec(drainTask);
+    }
+  }
+
+  /**
+   * Appends the line to the batch, writes the batch first if it has lines of other type. Returns type of the batch.
+   */
+  private int appendBatch(StringBuilder buf, int bufType, ConsoleDocument.ConsoleLine line) {
+    if(line.type != bufType) {
+      writeLines(bufType, buf.toString());
+      buf.setLength(0);
+    }
+    buf.append(line.line).append('\n');
+    return line.type;
+  }
+
+  private void writeLines(int type, String lines) {
+    if(!isVisible() || lines.isEmpty()) {
+      return;
+    }
+    try {
+      switch(type) {
+        case ConsoleDocument.COMMAND:
+          getCommandStream().write(lines);
+          break;
+        case ConsoleDocument.MESSAGE:
+          getMessageStream().write(lines);
+          break;
+        case ConsoleDocument.ERROR:
+          getErrorStream().write(lines);
+          break;
+      }
+    } catch(IOException ex) {
+      // Don't log using slf4j - it will cause a cycle
+      ex.printStackTrace();
+    }
+  }
+
+  /**
+   * Returns number of lines dropped because the console could not keep up with the output.
+   */
+  public long getDroppedLineCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Returns number of lines waiting to be written to the console.
+   */
+  public int getBacklog() {
+    return backlog.get();
   }
 
   /**
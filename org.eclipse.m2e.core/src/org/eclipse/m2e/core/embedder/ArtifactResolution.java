@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.embedder;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.apache.maven.artifact.Artifact;
+
+
+/**
+ * Outcome of resolution of a single artifact requested with {@link IMaven#resolveAll}.
+ *
+ * @since 1.8
+ */
+public class ArtifactResolution {
+
+  private final ArtifactKey key;
+
+  private final Artifact artifact;
+
+  private final IStatus status;
+
+  public ArtifactResolution(ArtifactKey key, Artifact artifact, IStatus status) {
+    this.key = key;
+    this.artifact = artifact;
+    this.status = status != null ? status : Status.OK_STATUS;
+  }
+
+  /**
+   * Requested artifact.
+   */
+  public ArtifactKey getKey() {
+    return key;
+  }
+
+  /**
+   * Resolved artifact, or null if the artifact could not be resolved.
+   */
+  public Artifact getArtifact() {
+    return artifact;
+  }
+
+  /**
+   * Resolution errors, {@link Status#OK_STATUS} if the artifact was resolved.
+   */
+  public IStatus getStatus() {
+    return status;
+  }
+
+  public boolean isResolved() {
+    return artifact != null;
+  }
+
+  public String toString() {
+    return key + (isResolved() ? " -> " + artifact.getFile() : " " + status.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+  }
+}
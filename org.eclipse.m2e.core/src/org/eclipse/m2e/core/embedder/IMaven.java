@@ -14,6 +14,8 @@ package org.eclipse.m2e.core.embedder;
 import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
@@ -78,6 +80,20 @@ public interface IMaven {
   public Artifact resolve(String groupId, String artifactId, String version, String type, String classifier,
       List<ArtifactRepository> artifactRepositories, IProgressMonitor monitor) throws CoreException;
 
+  /**
+   * Resolves multiple jar artifacts in one batch, downloading missing artifacts concurrently. Number of concurrent
+   * transfers per remote repository is controlled by <code>org.eclipse.m2e.core.resolver.threads</code> system property
+   * or <code>aether.connector.basic.threads</code> Maven property. Unlike
+   * {@link #resolve(String, String, String, String, String, List, IProgressMonitor)}, resolution failures are not
+   * thrown but reported in the returned per-artifact results, which are in the order of the requested artifacts. Uses
+   * current {@link IMavenExecutionContext} repository session, if any.
+   *
+   * @param artifactRepositories remote repositories to resolve from, or null to use default repositories
+   * @since 1.8
+   */
+  public List<ArtifactResolution> resolveAll(Collection<ArtifactKey> artifacts,
+      List<ArtifactRepository> artifactRepositories, IProgressMonitor monitor) throws CoreException;
+
   /**
    * Returns path of the specified artifact relative to repository baseDir. Can use used to access local repository
    * files bypassing maven resolution logic.
@@ -92,6 +108,16 @@ public interface IMaven {
   public boolean isUnavailable(String groupId, String artifactId, String version, String type, String classifier,
       List<ArtifactRepository> repositories) throws CoreException;
 
+  /**
+   * Batch version of {@link #isUnavailable(String, String, String, String, String, List)}. Returns set of indexes of
+   * artifacts, all of the specified type, that do NOT exist in the local repository and are known to be UNavailable
+   * from all specified repositories.
+   * 
+   * @since 1.8
+   */
+  public BitSet getUnavailable(List<ArtifactKey> artifacts, String type, List<ArtifactRepository> repositories)
+      throws CoreException;
+
   // read MavenProject
 
   public MavenProject readProject(File pomFile, IProgressMonitor monitor) throws CoreException;
@@ -49,7 +49,8 @@ import org.eclipse.m2e.core.project.IMavenProjectRegistry;
  * }, monitor);
  * </pre>
  * <p>
- * Maven execution context instances are not thread safe and cannot be used on other threads.
+ * Maven execution context instances are not thread safe and cannot be used on other threads. Use {@link #fork()} to
+ * create contexts for worker threads.
  * 
  * @see ICallable
  * @see IMaven#createExecutionContext()
@@ -104,4 +105,15 @@ public interface IMavenExecutionContext {
    */
   ProjectBuildingRequest newProjectBuildingRequest();
 
+  /**
+   * Creates new context that can be executed on another thread concurrently with this context. Forked context uses a
+   * copy of this context's execution request and its own maven and repository sessions, which share configuration,
+   * repository caches and session data with this context's repository session. Forked context must be created on the
+   * thread this context is associated with, but can then be handed off to and executed on a single worker thread.
+   * 
+   * @throws IllegalStateException if called outside of {@link #execute(MavenProject, ICallable, IProgressMonitor)}
+   * @since 1.8
+   */
+  IMavenExecutionContext fork();
+
 }
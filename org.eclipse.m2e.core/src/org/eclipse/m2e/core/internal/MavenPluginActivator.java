@@ -61,6 +61,7 @@ import org.eclipse.m2e.core.embedder.MavenModelManager;
 import org.eclipse.m2e.core.internal.archetype.ArchetypeCatalogFactory;
 import org.eclipse.m2e.core.internal.archetype.ArchetypeManager;
 import org.eclipse.m2e.core.internal.embedder.MavenImpl;
+import org.eclipse.m2e.core.internal.embedder.MavenWarmupJob;
 import org.eclipse.m2e.core.internal.index.filter.ArtifactFilterManager;
 import org.eclipse.m2e.core.internal.index.nexus.IndexesExtensionReader;
 import org.eclipse.m2e.core.internal.index.nexus.IndexingTransferListener;
@@ -139,6 +140,8 @@ public class MavenPluginActivator extends Plugin {
 
   private MavenImpl maven;
 
+  private MavenWarmupJob mavenWarmupJob;
+
   private IProjectConversionManager projectConversionManager;
 
   public MavenPluginActivator() {
@@ -205,6 +208,8 @@ public class MavenPluginActivator extends Plugin {
     ////////////////////////////////////////////////////////////////////////////////////////////////
 
     this.maven = new MavenImpl(mavenConfiguration);
+    this.mavenWarmupJob = new MavenWarmupJob(maven);
+    this.mavenWarmupJob.schedule();
 
     // TODO eagerly reads workspace state cache
     this.managerImpl = new ProjectRegistryManager(maven, stateLocationDir, !updateProjectsOnStartup /* readState */,
@@ -297,8 +302,10 @@ public class MavenPluginActivator extends Plugin {
     context.removeBundleListener(bundleListener);
 
     this.mavenBackgroundJob.cancel();
+    this.mavenWarmupJob.cancel();
     try {
       this.mavenBackgroundJob.join();
+      this.mavenWarmupJob.join();
     } catch(InterruptedException ex) {
       // ignored
     }
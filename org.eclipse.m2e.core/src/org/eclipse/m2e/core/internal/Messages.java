@@ -136,6 +136,10 @@ public class Messages extends NLS {
 
   public static String MavenImpl_error_write_settings;
 
+  public static String MavenImpl_resolving_artifacts;
+
+  public static String MavenWarmupJob_title;
+
   public static String MavenMarkerManager_duplicate_groupid;
 
   public static String MavenMarkerManager_duplicate_version;
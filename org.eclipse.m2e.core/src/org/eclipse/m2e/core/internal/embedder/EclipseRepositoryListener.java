@@ -34,6 +34,7 @@ public class EclipseRepositoryListener extends AbstractRepositoryListener implem
   public static final String ROLE_HINT = "EclipseRepositoryListener";
 
   public void artifactInstalled(RepositoryEvent event) {
+    ((MavenImpl) MavenPlugin.getMaven()).invalidateRepositoryCache();
     notifyListeners(event);
   }
 
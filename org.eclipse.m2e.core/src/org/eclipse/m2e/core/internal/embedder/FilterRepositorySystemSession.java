@@ -50,6 +50,16 @@ class FilterRepositorySystemSession extends org.eclipse.aether.AbstractForwardin
     return origSessionData;
   }
 
+  /**
+   * Returns new session that shares configuration, repository cache and session data with this session, but can be used
+   * on another thread because it has its own copy of mutable session state, like the transfer listener.
+   * 
+   * @since 1.8
+   */
+  public FilterRepositorySystemSession fork() {
+    return new FilterRepositorySystemSession(new DefaultRepositorySystemSession(getSession()), updatePolicy);
+  }
+
   protected DefaultRepositorySystemSession getSession() {
     return this.session;
   }
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.embedder;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.plexus.util.IOUtil;
+
+
+/**
+ * Parsed m2e-lastUpdated.properties files. Cached entries are validated against file timestamp and length, so changes
+ * made outside of this cache are picked up on next access.
+ *
+ * @since 1.8
+ */
+class LastUpdatedCache {
+
+  private static final Properties EMPTY = new Properties();
+
+  private final Map<File, Entry> entries = new ConcurrentHashMap<File, Entry>();
+
+  /**
+   * Returns properties of the given file. Returned instance is shared and must not be modified.
+   */
+  Properties get(File file) throws IOException {
+    Entry entry = entries.get(file);
+    long lastModified = file.lastModified();
+    long length = file.length();
+    if(entry != null && entry.lastModified == lastModified && entry.length == length) {
+      return entry.properties;
+    }
+
+    Properties properties = new Properties();
+    try {
+      BufferedInputStream is = new BufferedInputStream(new FileInputStream(file));
+      try {
+        properties.load(is);
+      } finally {
+        IOUtil.close(is);
+      }
+    } catch(FileNotFoundException ex) {
+      // that's okay
+      properties = EMPTY;
+    }
+    entries.put(file, new Entry(properties, lastModified, length));
+    return properties;
+  }
+
+  void remove(File file) {
+    entries.remove(file);
+  }
+
+  void clear() {
+    entries.clear();
+  }
+
+  private static class Entry {
+    final Properties properties;
+
+    final long lastModified;
+
+    final long length;
+
+    Entry(Properties properties, long lastModified, long length) {
+      this.properties = properties;
+      this.lastModified = lastModified;
+      this.length = length;
+    }
+  }
+}
@@ -64,8 +64,20 @@ public class MavenExecutionContext implements IMavenExecutionContext {
   // TODO maybe delegate to parent context
   private Map<String, Object> context;
 
+  /**
+   * Repository session of the context this context was forked from, or null
+   */
+  private final FilterRepositorySystemSession forkedRepositorySession;
+
   public MavenExecutionContext(MavenImpl maven) {
+    this(maven, null, null);
+  }
+
+  private MavenExecutionContext(MavenImpl maven, MavenExecutionRequest request,
+      FilterRepositorySystemSession forkedRepositorySession) {
     this.maven = maven;
+    this.request = request;
+    this.forkedRepositorySession = forkedRepositorySession;
   }
 
   public MavenExecutionRequest getExecutionRequest() throws CoreException {
@@ -124,14 +136,20 @@ public class MavenExecutionContext implements IMavenExecutionContext {
       if(request == null) {
         request = newExecutionRequest();
       }
-      maven.populateDefaults(request);
-      populateSystemProperties(request);
+      final FilterRepositorySystemSession repositorySession;
+      if(forkedRepositorySession != null) {
+        // request is a copy of already populated request
+        repositorySession = forkedRepositorySession.fork();
+      } else {
+        maven.populateDefaults(request);
+        populateSystemProperties(request);
+        repositorySession = maven.createRepositorySession(request);
+        if(parent != null) {
+          repositorySession.setData(parent.getRepositorySession().getData());
+        }
+      }
       setValue(CTX_LOCALREPOSITORY, request.getLocalRepository());
-      final FilterRepositorySystemSession repositorySession = maven.createRepositorySession(request);
       setValue(CTX_REPOSITORYSESSION, repositorySession);
-      if(parent != null) {
-        repositorySession.setData(parent.getRepositorySession().getData());
-      }
       final MavenExecutionResult result = new DefaultMavenExecutionResult();
       setValue(CTX_MAVENSESSION, new MavenSession(maven.getPlexusContainer(), repositorySession, request, result));
     }
@@ -249,6 +267,13 @@ public class MavenExecutionContext implements IMavenExecutionContext {
     return projectBuildingRequest;
   }
 
+  public MavenExecutionContext fork() {
+    if(context == null) {
+      throw new IllegalStateException();
+    }
+    return new MavenExecutionContext(maven, DefaultMavenExecutionRequest.copy(request), getRepositorySession());
+  }
+
   /**
    * Suspends current Maven execution context, if any. Returns suspended context or {@code null} if there was no context
    * associated with the current thread.
@@ -17,16 +17,18 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -40,20 +42,25 @@ import org.slf4j.LoggerFactory;
 import com.google.inject.AbstractModule;
 import com.google.inject.Module;
 
+import org.eclipse.aether.AbstractRepositoryListener;
 import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RepositoryPolicy;
 import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.transfer.ArtifactNotFoundException;
 import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.util.NLS;
 
 import org.codehaus.plexus.ContainerConfiguration;
@@ -122,6 +129,7 @@ import org.apache.maven.plugin.PluginDescriptorParsingException;
 import org.apache.maven.plugin.PluginManagerException;
 import org.apache.maven.plugin.PluginNotFoundException;
 import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
+import org.apache.maven.plugin.PluginRealmCache;
 import org.apache.maven.plugin.PluginResolutionException;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.plugin.version.DefaultPluginVersionRequest;
@@ -156,6 +164,8 @@ import org.apache.maven.settings.crypto.SettingsDecryptionResult;
 import org.apache.maven.settings.io.SettingsWriter;
 import org.apache.maven.wagon.proxy.ProxyInfo;
 
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.embedder.ArtifactResolution;
 import org.eclipse.m2e.core.embedder.ICallable;
 import org.eclipse.m2e.core.embedder.ILocalRepositoryListener;
 import org.eclipse.m2e.core.embedder.IMaven;
@@ -169,6 +179,7 @@ import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.Messages;
 import org.eclipse.m2e.core.internal.NoSuchComponentException;
 import org.eclipse.m2e.core.internal.preferences.MavenPreferenceConstants;
+import org.eclipse.m2e.core.internal.project.EclipsePluginRealmCache;
 
 
 public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
@@ -179,6 +190,24 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
    */
   public static final String MAVEN_CORE_REALM_ID = "plexus.core"; //$NON-NLS-1$
 
+  /**
+   * Aether basic connector configuration property that controls number of concurrent transfers per remote repository
+   */
+  private static final String CONFIG_PROP_CONNECTOR_THREADS = "aether.connector.basic.threads"; //$NON-NLS-1$
+
+  /**
+   * Default number of concurrent artifact transfers per remote repository, unless configured with
+   * {@link #CONFIG_PROP_CONNECTOR_THREADS} Maven property
+   */
+  private static final Integer RESOLVER_THREADS = Integer
+      .getInteger("org.eclipse.m2e.core.resolver.threads"); //$NON-NLS-1$
+
+  /**
+   * If true, all repository sessions share single {@link SharedRepositoryCache} instead of starting with empty cache
+   */
+  private static final boolean SHARED_REPOSITORY_CACHE = Boolean
+      .getBoolean("org.eclipse.m2e.core.sharedRepositoryCache"); //$NON-NLS-1$
+
   private DefaultPlexusContainer plexus;
 
   private final IMavenConfiguration mavenConfiguration;
@@ -190,15 +219,50 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   private final ArrayList<ILocalRepositoryListener> localRepositoryListeners = new ArrayList<ILocalRepositoryListener>();
 
   /**
-   * Cached parsed settings.xml instance
+   * Cached parsed settings.xml instance. Replaced as a whole on reload, readers never block.
    */
-  private Settings settings;
+  private volatile Settings settings;
 
   /** File length of cached user settings */
-  private long settings_length;
+  private volatile long settings_length;
 
   /** Last modified timestamp of cached user settings */
-  private long settings_timestamp;
+  private volatile long settings_timestamp;
+
+  /**
+   * Reloads settings when settings.xml files change on disk
+   */
+  private final SettingsFileWatcher settingsWatcher = new SettingsFileWatcher(new Runnable() {
+    public void run() {
+      try {
+        loadSettings(true);
+      } catch(CoreException ex) {
+        log.error(ex.getMessage(), ex);
+      }
+    }
+  });
+
+  /**
+   * Execution request populated from settings and configuration, new execution requests are copies of this template.
+   * Reset to null whenever settings or configuration change. Built and reset while holding the lock of this instance,
+   * so a template built from old settings or configuration is never published after a reset.
+   */
+  private volatile MavenExecutionRequest requestTemplate;
+
+  private final LastUpdatedCache lastUpdatedCache = new LastUpdatedCache();
+
+  /**
+   * Striped locks of m2e-lastUpdated.properties files, attachments of one GAV are downloaded concurrently and update
+   * the same file.
+   */
+  private final Object[] lastUpdatedLocks = new Object[64];
+  {
+    for(int i = 0; i < lastUpdatedLocks.length; i++ ) {
+      lastUpdatedLocks[i] = new Object();
+    }
+  }
+
+  private final SharedRepositoryCache repositoryCache = new SharedRepositoryCache();
 
   public MavenImpl(IMavenConfiguration mavenConfiguration) {
     this.mavenConfiguration = mavenConfiguration;
@@ -209,6 +273,7 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   @Deprecated
   public MavenExecutionRequest createExecutionRequest(IProgressMonitor monitor) throws CoreException {
     MavenExecutionRequest request = createExecutionRequest();
+    MavenExecutionContext.populateSystemProperties(request);
 
     // logging
     request.setTransferListener(createArtifactTransferListener(monitor));
@@ -216,7 +281,27 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     return request;
   }
 
+  /**
+   * Returns new execution request populated from settings and configuration. The request is a copy of a precomputed
+   * template and can be freely modified by the caller. System properties are those of template creation time, callers
+   * that need current values have to use {@link MavenExecutionContext#populateSystemProperties(MavenExecutionRequest)}.
+   */
   /*package*/MavenExecutionRequest createExecutionRequest() throws CoreException {
+    getSettings(); // resets the template if settings.xml changed and can't be watched
+    MavenExecutionRequest template = requestTemplate;
+    if(template == null) {
+      synchronized(this) {
+        template = requestTemplate;
+        if(template == null) {
+          template = newExecutionRequestTemplate();
+          requestTemplate = template;
+        }
+      }
+    }
+    return DefaultMavenExecutionRequest.copy(template);
+  }
+
+  private MavenExecutionRequest newExecutionRequestTemplate() throws CoreException {
     MavenExecutionRequest request = new DefaultMavenExecutionRequest();
 
     // this causes problems with unexpected "stale project configuration" error markers
@@ -226,11 +311,7 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     if(mavenConfiguration.getGlobalSettingsFile() != null) {
       request.setGlobalSettingsFile(new File(mavenConfiguration.getGlobalSettingsFile()));
     }
-    File userSettingsFile = SettingsXmlConfigurationProcessor.DEFAULT_USER_SETTINGS_FILE;
-    if(mavenConfiguration.getUserSettingsFile() != null) {
-      userSettingsFile = new File(mavenConfiguration.getUserSettingsFile());
-    }
-    request.setUserSettingsFile(userSettingsFile);
+    request.setUserSettingsFile(getUserSettingsFile());
 
     try {
       lookup(MavenExecutionRequestPopulator.class).populateFromSettings(request, getSettings());
@@ -307,7 +388,18 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     try {
       DefaultRepositorySystemSession session = (DefaultRepositorySystemSession) ((DefaultMaven) lookup(Maven.class))
           .newRepositorySession(request);
+      if(RESOLVER_THREADS != null && session.getConfigProperties().get(CONFIG_PROP_CONNECTOR_THREADS) == null) {
+        session.setConfigProperty(CONFIG_PROP_CONNECTOR_THREADS, RESOLVER_THREADS);
+      }
       final String updatePolicy = mavenConfiguration.getGlobalUpdatePolicy();
+      if(SHARED_REPOSITORY_CACHE) {
+        if(request.isUpdateSnapshots()) {
+          // forced update, discard everything resolved so far, the session uses its own cache
+          repositoryCache.invalidate();
+        } else if(!RepositoryPolicy.UPDATE_POLICY_ALWAYS.equals(updatePolicy)) {
+          session.setCache(repositoryCache);
+        }
+      }
       return new FilterRepositorySystemSession(session, request.isUpdateSnapshots() ? null : updatePolicy);
     } catch(CoreException ex) {
       log.error(ex.getMessage(), ex);
@@ -323,15 +415,23 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
       artifacts.put(project, new LinkedHashSet<Artifact>(project.getArtifacts()));
       snapshots.put(project, MavenProjectMutableState.takeSnapshot(project));
     }
+    ClassRealm pluginRealm = null;
     try {
       MojoExecutor mojoExecutor = lookup(MojoExecutor.class);
       DependencyContext dependencyContext = mojoExecutor.newDependencyContext(session,
           Collections.singletonList(execution));
       mojoExecutor.ensureDependenciesAreResolved(execution.getMojoDescriptor(), session, dependencyContext);
-      lookup(BuildPluginManager.class).executeMojo(session, execution);
+      BuildPluginManager buildPluginManager = lookup(BuildPluginManager.class);
+      // keep plugin realm from being disposed while the mojo executes
+      pluginRealm = buildPluginManager.getPluginRealm(session, execution.getMojoDescriptor().getPluginDescriptor());
+      acquirePluginRealm(pluginRealm);
+      buildPluginManager.executeMojo(session, execution);
     } catch(Exception ex) {
       session.getResult().addException(ex);
     } finally {
+      if(pluginRealm != null) {
+        releasePluginRealm(pluginRealm);
+      }
       for(MavenProject project : session.getProjects()) {
         project.setArtifactFilter(null);
         project.setResolvedArtifacts(null);
@@ -349,8 +449,12 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     try {
       MojoDescriptor mojoDescriptor = mojoExecution.getMojoDescriptor();
       // getPluginRealm creates plugin realm and populates pluginDescriptor.classRealm field 
-      lookup(BuildPluginManager.class).getPluginRealm(session, mojoDescriptor.getPluginDescriptor());
-      return clazz.cast(lookup(MavenPluginManager.class).getConfiguredMojo(Mojo.class, session, mojoExecution));
+      ClassRealm pluginRealm = lookup(BuildPluginManager.class).getPluginRealm(session,
+          mojoDescriptor.getPluginDescriptor());
+      T mojo = clazz.cast(lookup(MavenPluginManager.class).getConfiguredMojo(Mojo.class, session, mojoExecution));
+      // released by releaseMojo
+      acquirePluginRealm(pluginRealm);
+      return mojo;
     } catch(PluginContainerException ex) {
       throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1, NLS.bind(
           Messages.MavenImpl_error_mojo, mojoExecution), ex));
@@ -371,6 +475,33 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
 
   public void releaseMojo(Object mojo, MojoExecution mojoExecution) throws CoreException {
     lookup(MavenPluginManager.class).releaseMojo(mojo, mojoExecution);
+    releasePluginRealm(mojoExecution.getMojoDescriptor().getPluginDescriptor().getClassRealm());
+  }
+
+  private void acquirePluginRealm(ClassRealm pluginRealm) {
+    EclipsePluginRealmCache pluginRealmCache = getPluginRealmCache();
+    if(pluginRealmCache != null) {
+      pluginRealmCache.acquire(pluginRealm);
+    }
+  }
+
+  private void releasePluginRealm(ClassRealm pluginRealm) {
+    EclipsePluginRealmCache pluginRealmCache = getPluginRealmCache();
+    if(pluginRealmCache != null) {
+      pluginRealmCache.release(pluginRealm);
+    }
+  }
+
+  private EclipsePluginRealmCache getPluginRealmCache() {
+    try {
+      PluginRealmCache pluginRealmCache = lookup(PluginRealmCache.class);
+      if(pluginRealmCache instanceof EclipsePluginRealmCache) {
+        return (EclipsePluginRealmCache) pluginRealmCache;
+      }
+    } catch(CoreException ex) {
+      log.error(ex.getMessage(), ex);
+    }
+    return null;
   }
 
   @SuppressWarnings("deprecation")
@@ -439,18 +570,39 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     return getSettings(false);
   }
 
-  public synchronized Settings getSettings(final boolean force_reload) throws CoreException {
-    // MUST NOT use createRequest!
+  public Settings getSettings(final boolean force_reload) throws CoreException {
+    Settings current = settings;
+    if(current != null && !force_reload && (settingsWatcher.isWatching() || !isSettingsFileChanged())) {
+      return current;
+    }
+    return loadSettings(force_reload);
+  }
 
+  private File getUserSettingsFile() {
     File userSettingsFile = SettingsXmlConfigurationProcessor.DEFAULT_USER_SETTINGS_FILE;
     if(mavenConfiguration.getUserSettingsFile() != null) {
       userSettingsFile = new File(mavenConfiguration.getUserSettingsFile());
     }
+    return userSettingsFile;
+  }
+
+  /**
+   * Fallback used when settings.xml can't be watched
+   */
+  private boolean isSettingsFileChanged() {
+    File userSettingsFile = getUserSettingsFile();
+    return userSettingsFile.lastModified() != settings_timestamp || userSettingsFile.length() != settings_length;
+  }
+
+  private synchronized Settings loadSettings(final boolean force_reload) throws CoreException {
+    // MUST NOT use createRequest!
+
+    File userSettingsFile = getUserSettingsFile();
 
     boolean reload = force_reload || settings == null;
 
     if(!reload && userSettingsFile != null) {
-      reload = userSettingsFile.lastModified() != settings_timestamp || userSettingsFile.length() != settings_length;
+      reload = isSettingsFileChanged();
     }
 
     if(reload) {
@@ -460,14 +612,19 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
       Properties systemProperties = new Properties();
       copyProperties(systemProperties, System.getProperties());
       request.setSystemProperties(systemProperties);
+      File globalSettingsFile = null;
       if(mavenConfiguration.getGlobalSettingsFile() != null) {
-        request.setGlobalSettingsFile(new File(mavenConfiguration.getGlobalSettingsFile()));
+        globalSettingsFile = new File(mavenConfiguration.getGlobalSettingsFile());
+        request.setGlobalSettingsFile(globalSettingsFile);
       }
       if(userSettingsFile != null) {
         request.setUserSettingsFile(userSettingsFile);
       }
+      // start watching before reading, changes made while reading will trigger another reload
+      settingsWatcher.watch(userSettingsFile, globalSettingsFile);
+      Settings newSettings;
       try {
-        settings = lookup(SettingsBuilder.class).build(request).getEffectiveSettings();
+        newSettings = lookup(SettingsBuilder.class).build(request).getEffectiveSettings();
       } catch(SettingsBuildingException ex) {
         String msg = "Could not read settings.xml, assuming default values";
         log.error(msg, ex);
@@ -475,13 +632,16 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
          * NOTE: This method provides input for various other core functions, just bailing out would make m2e highly
          * unusuable. Instead, we fail gracefully and just ignore the broken settings, using defaults.
          */
-        settings = new Settings();
+        newSettings = new Settings();
       }
 
       if(userSettingsFile != null) {
         settings_length = userSettingsFile.length();
         settings_timestamp = userSettingsFile.lastModified();
       }
+      requestTemplate = null;
+      repositoryCache.invalidate();
+      settings = newSettings;
     }
     return settings;
   }
@@ -552,6 +712,11 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   public void mavenConfigurationChange(MavenConfigurationChangeEvent event) throws CoreException {
+    // offline mode, checksum policy, settings files, etc all end up in execution requests
+    synchronized(this) {
+      requestTemplate = null;
+    }
+    repositoryCache.invalidate();
     if(MavenConfigurationChangeEvent.P_USER_SETTINGS_FILE.equals(event.getKey())
         || MavenPreferenceConstants.P_GLOBAL_SETTINGS_FILE.equals(event.getKey())) {
       reloadSettings();
@@ -762,19 +927,7 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
           artifact.setFile(result.getArtifact().getFile());
           artifact.setResolved(true);
         } else {
-          ArrayList<IStatus> members = new ArrayList<IStatus>();
-          for(Exception e : result.getExceptions()) {
-            if(!(e instanceof ArtifactNotFoundException)) {
-              members.add(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1, e.getMessage(), e));
-            }
-          }
-          if(members.isEmpty()) {
-            members.add(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1, NLS.bind(
-                Messages.MavenImpl_error_missing, artifact), null));
-          }
-          IStatus[] newMembers = members.toArray(new IStatus[members.size()]);
-          throw new CoreException(new MultiStatus(IMavenConstants.PLUGIN_ID, -1, newMembers, NLS.bind(
-              Messages.MavenImpl_error_resolve, artifact.toString()), null));
+          throw new CoreException(getResolutionStatus(artifact, result));
         }
 
         return artifact;
@@ -782,6 +935,94 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     }, monitor);
   }
 
+  public List<ArtifactResolution> resolveAll(Collection<ArtifactKey> artifacts,
+      List<ArtifactRepository> remoteRepositories, IProgressMonitor monitor) throws CoreException {
+    if(remoteRepositories == null) {
+      try {
+        remoteRepositories = getArtifactRepositories();
+      } catch(CoreException e) {
+        // we've tried
+        remoteRepositories = Collections.emptyList();
+      }
+    }
+    final List<ArtifactRepository> _remoteRepositories = remoteRepositories;
+
+    final RepositorySystem repositorySystem = lookup(RepositorySystem.class);
+    final List<ArtifactKey> keys = new ArrayList<ArtifactKey>(artifacts);
+    final List<Artifact> mavenArtifacts = new ArrayList<Artifact>(keys.size());
+    for(ArtifactKey key : keys) {
+      mavenArtifacts.add(repositorySystem.createArtifactWithClassifier(key.getGroupId(), key.getArtifactId(),
+          key.getVersion(), "jar", key.getClassifier())); //$NON-NLS-1$
+    }
+
+    return context().execute(new ICallable<List<ArtifactResolution>>() {
+      public List<ArtifactResolution> call(IMavenExecutionContext context, IProgressMonitor monitor)
+          throws CoreException {
+        final SubMonitor progress = SubMonitor.convert(monitor,
+            NLS.bind(Messages.MavenImpl_resolving_artifacts, mavenArtifacts.size()), mavenArtifacts.size());
+        org.eclipse.aether.RepositorySystem repoSystem = lookup(org.eclipse.aether.RepositorySystem.class);
+
+        List<ArtifactRequest> requests = new ArrayList<ArtifactRequest>(mavenArtifacts.size());
+        List<org.eclipse.aether.repository.RemoteRepository> repositories = RepositoryUtils
+            .toRepos(_remoteRepositories);
+        for(Artifact artifact : mavenArtifacts) {
+          requests.add(new ArtifactRequest(RepositoryUtils.toArtifact(artifact), repositories, null));
+        }
+
+        // report progress as each artifact of the batch is resolved, successfully or not
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(context.getRepositorySession());
+        session.setRepositoryListener(new ChainedRepositoryListener(session.getRepositoryListener(),
+            new AbstractRepositoryListener() {
+              public void artifactResolved(RepositoryEvent event) {
+                progress.worked(1);
+              }
+            }));
+
+        // single batch lets aether download artifacts missing from the same repository concurrently
+        List<ArtifactResult> results;
+        try {
+          results = repoSystem.resolveArtifacts(session, requests);
+        } catch(ArtifactResolutionException ex) {
+          results = ex.getResults();
+        }
+
+        List<ArtifactResolution> resolutions = new ArrayList<ArtifactResolution>(results.size());
+        for(int i = 0; i < results.size(); i++ ) {
+          ArtifactResult result = results.get(i);
+          Artifact artifact = mavenArtifacts.get(i);
+
+          setLastUpdated(context.getLocalRepository(), _remoteRepositories, artifact);
+
+          if(result.isResolved()) {
+            artifact.selectVersion(result.getArtifact().getVersion());
+            artifact.setFile(result.getArtifact().getFile());
+            artifact.setResolved(true);
+            resolutions.add(new ArtifactResolution(keys.get(i), artifact, null));
+          } else {
+            resolutions.add(new ArtifactResolution(keys.get(i), null, getResolutionStatus(artifact, result)));
+          }
+        }
+        return resolutions;
+      }
+    }, monitor);
+  }
+
+  private static IStatus getResolutionStatus(Artifact artifact, ArtifactResult result) {
+    ArrayList<IStatus> members = new ArrayList<IStatus>();
+    for(Exception e : result.getExceptions()) {
+      if(!(e instanceof ArtifactNotFoundException)) {
+        members.add(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1, e.getMessage(), e));
+      }
+    }
+    if(members.isEmpty()) {
+      members.add(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1, NLS.bind(Messages.MavenImpl_error_missing,
+          artifact), null));
+    }
+    IStatus[] newMembers = members.toArray(new IStatus[members.size()]);
+    return new MultiStatus(IMavenConstants.PLUGIN_ID, -1, newMembers, NLS.bind(Messages.MavenImpl_error_resolve,
+        artifact.toString()), null);
+  }
+
   public Artifact resolvePluginArtifact(Plugin plugin, List<ArtifactRepository> remoteRepositories,
       IProgressMonitor monitor) throws CoreException {
     Artifact artifact = lookup(RepositorySystem.class).createPluginArtifact(plugin);
@@ -798,29 +1039,37 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   /*package*/void setLastUpdated(ArtifactRepository localRepository, List<ArtifactRepository> remoteRepositories,
       Artifact artifact) throws CoreException {
 
-    Properties lastUpdated = loadLastUpdated(localRepository, artifact);
+    File lastUpdatedFile = getLastUpdatedFile(localRepository, artifact);
+    synchronized(getLastUpdatedLock(lastUpdatedFile)) {
+      Properties lastUpdated = new Properties();
+      lastUpdated.putAll(loadLastUpdated(lastUpdatedFile));
 
-    String timestamp = Long.toString(System.currentTimeMillis());
+      String timestamp = Long.toString(System.currentTimeMillis());
 
-    for(ArtifactRepository repository : remoteRepositories) {
-      lastUpdated.setProperty(getLastUpdatedKey(repository, artifact), timestamp);
-    }
+      for(ArtifactRepository repository : remoteRepositories) {
+        lastUpdated.setProperty(getLastUpdatedKey(repository, artifact), timestamp);
+      }
 
-    File lastUpdatedFile = getLastUpdatedFile(localRepository, artifact);
-    try {
-      lastUpdatedFile.getParentFile().mkdirs();
-      BufferedOutputStream os = new BufferedOutputStream(new FileOutputStream(lastUpdatedFile));
       try {
-        lastUpdated.store(os, null);
-      } finally {
-        IOUtil.close(os);
+        lastUpdatedFile.getParentFile().mkdirs();
+        BufferedOutputStream os = new BufferedOutputStream(new FileOutputStream(lastUpdatedFile));
+        try {
+          lastUpdated.store(os, null);
+        } finally {
+          IOUtil.close(os);
+          lastUpdatedCache.remove(lastUpdatedFile);
+        }
+      } catch(IOException ex) {
+        throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1,
+            Messages.MavenImpl_error_write_lastUpdated, ex));
       }
-    } catch(IOException ex) {
-      throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1,
-          Messages.MavenImpl_error_write_lastUpdated, ex));
     }
   }
 
+  private Object getLastUpdatedLock(File lastUpdatedFile) {
+    return lastUpdatedLocks[(lastUpdatedFile.hashCode() & Integer.MAX_VALUE) % lastUpdatedLocks.length];
+  }
+
   /**
    * This is a temporary implementation that only works for artifacts resolved using #resolve.
    */
@@ -831,6 +1080,48 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
 
     ArtifactRepository localRepository = getLocalRepository();
 
+    return isUnavailable(localRepository, artifact, remoteRepositories,
+        loadLastUpdated(localRepository, artifact));
+  }
+
+  /**
+   * This is a temporary implementation that only works for artifacts resolved using #resolve.
+   */
+  public BitSet getUnavailable(List<ArtifactKey> artifacts, String type, List<ArtifactRepository> remoteRepositories)
+      throws CoreException {
+    RepositorySystem repositorySystem = lookup(RepositorySystem.class);
+    ArtifactRepository localRepository = getLocalRepository();
+
+    // all attachments of one GAV share the same m2e-lastUpdated.properties file, read it only once
+    Map<File, List<Integer>> byLastUpdatedFile = new LinkedHashMap<File, List<Integer>>();
+    Artifact[] mavenArtifacts = new Artifact[artifacts.size()];
+    for(int i = 0; i < mavenArtifacts.length; i++ ) {
+      ArtifactKey key = artifacts.get(i);
+      mavenArtifacts[i] = repositorySystem.createArtifactWithClassifier(key.getGroupId(), key.getArtifactId(),
+          key.getVersion(), type, key.getClassifier());
+      File lastUpdatedFile = getLastUpdatedFile(localRepository, mavenArtifacts[i]);
+      List<Integer> indexes = byLastUpdatedFile.get(lastUpdatedFile);
+      if(indexes == null) {
+        indexes = new ArrayList<Integer>();
+        byLastUpdatedFile.put(lastUpdatedFile, indexes);
+      }
+      indexes.add(i);
+    }
+
+    BitSet unavailable = new BitSet(mavenArtifacts.length);
+    for(Map.Entry<File, List<Integer>> entry : byLastUpdatedFile.entrySet()) {
+      Properties lastUpdated = loadLastUpdated(entry.getKey());
+      for(int i : entry.getValue()) {
+        if(isUnavailable(localRepository, mavenArtifacts[i], remoteRepositories, lastUpdated)) {
+          unavailable.set(i);
+        }
+      }
+    }
+    return unavailable;
+  }
+
+  private boolean isUnavailable(ArtifactRepository localRepository, Artifact artifact,
+      List<ArtifactRepository> remoteRepositories, Properties lastUpdated) {
     File artifactFile = new File(localRepository.getBasedir(), localRepository.pathOf(artifact));
 
     if(artifactFile.canRead()) {
@@ -844,8 +1135,6 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     }
 
     // now is the hard part
-    Properties lastUpdated = loadLastUpdated(localRepository, artifact);
-
     for(ArtifactRepository repository : remoteRepositories) {
       String timestamp = lastUpdated.getProperty(getLastUpdatedKey(repository, artifact));
       if(timestamp == null) {
@@ -874,23 +1163,23 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     return key.toString();
   }
 
+  /**
+   * Returns shared, possibly cached, instance that must not be modified
+   */
   private Properties loadLastUpdated(ArtifactRepository localRepository, Artifact artifact) throws CoreException {
-    Properties lastUpdated = new Properties();
-    File lastUpdatedFile = getLastUpdatedFile(localRepository, artifact);
+    return loadLastUpdated(getLastUpdatedFile(localRepository, artifact));
+  }
+
+  private Properties loadLastUpdated(File lastUpdatedFile) throws CoreException {
     try {
-      BufferedInputStream is = new BufferedInputStream(new FileInputStream(lastUpdatedFile));
-      try {
-        lastUpdated.load(is);
-      } finally {
-        IOUtil.close(is);
+      // do not read the file while it is being written
+      synchronized(getLastUpdatedLock(lastUpdatedFile)) {
+        return lastUpdatedCache.get(lastUpdatedFile);
       }
-    } catch(FileNotFoundException ex) {
-      // that's okay
     } catch(IOException ex) {
       throw new CoreException(new Status(IStatus.ERROR, IMavenConstants.PLUGIN_ID, -1,
           Messages.MavenImpl_error_read_lastUpdated, ex));
     }
-    return lastUpdated;
   }
 
   private File getLastUpdatedFile(ArtifactRepository localRepository, Artifact artifact) {
@@ -1197,6 +1486,14 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     return localRepositoryListeners;
   }
 
+  /**
+   * Discards version and artifact descriptor resolution results shared by repository sessions. Must be called when
+   * artifacts are installed to the local repository or workspace projects change.
+   */
+  public void invalidateRepositoryCache() {
+    repositoryCache.invalidate();
+  }
+
   @SuppressWarnings("deprecation")
   public WagonTransferListenerAdapter createTransferListener(IProgressMonitor monitor) {
     return new WagonTransferListenerAdapter(this, monitor);
@@ -1319,6 +1616,9 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   }
 
   public synchronized void disposeContainer() {
+    settingsWatcher.close();
+    requestTemplate = null;
+    repositoryCache.invalidate();
     if(plexus != null) {
       plexus.dispose();
     }
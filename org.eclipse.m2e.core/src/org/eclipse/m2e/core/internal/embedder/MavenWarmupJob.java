@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.embedder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.apache.maven.Maven;
+import org.apache.maven.execution.MavenExecutionRequestPopulator;
+import org.apache.maven.lifecycle.LifecycleExecutor;
+import org.apache.maven.model.io.ModelReader;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.MavenPluginManager;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.repository.RepositorySystem;
+import org.apache.maven.settings.building.SettingsBuilder;
+
+import org.eclipse.m2e.core.internal.Messages;
+
+
+/**
+ * Creates embedded maven runtime container and looks up frequently used maven core components in background right
+ * after m2e startup, so the first maven operation does not pay for class loading and component wiring. Operations that
+ * need the container while it is being created block until it is available.
+ *
+ * @since 1.8
+ */
+public class MavenWarmupJob extends Job {
+  private static final Logger log = LoggerFactory.getLogger(MavenWarmupJob.class);
+
+  /**
+   * Components commonly used by project import, refresh and build, in order of first use.
+   */
+  private static final Class<?>[] COMPONENTS = {SettingsBuilder.class, MavenExecutionRequestPopulator.class,
+      RepositorySystem.class, org.eclipse.aether.RepositorySystem.class, Maven.class, ModelReader.class,
+      ProjectBuilder.class, LifecycleExecutor.class, MavenPluginManager.class, BuildPluginManager.class};
+
+  private final MavenImpl maven;
+
+  public MavenWarmupJob(MavenImpl maven) {
+    super(Messages.MavenWarmupJob_title);
+    this.maven = maven;
+    setSystem(true);
+  }
+
+  protected IStatus run(IProgressMonitor monitor) {
+    long start = System.currentTimeMillis();
+    try {
+      maven.getPlexusContainer();
+      long container = System.currentTimeMillis();
+
+      for(Class<?> component : COMPONENTS) {
+        if(monitor.isCanceled()) {
+          return Status.CANCEL_STATUS;
+        }
+        maven.lookup(component);
+      }
+      long components = System.currentTimeMillis();
+
+      // reads settings.xml and populates execution request template
+      maven.createExecutionRequest();
+      long end = System.currentTimeMillis();
+
+      log.info("Maven runtime warm-up took {} ms: container {} ms, components {} ms, settings {} ms", //$NON-NLS-1$
+          end - start, container - start, components - container, end - components);
+    } catch(CoreException ex) {
+      // not fatal, whoever needs the failed component will report the problem
+      log.warn("Maven runtime warm-up failed", ex); //$NON-NLS-1$
+    }
+    return Status.OK_STATUS;
+  }
+}
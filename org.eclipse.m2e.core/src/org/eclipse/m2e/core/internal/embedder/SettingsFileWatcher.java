@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.embedder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Watches settings.xml files for changes on a background thread, so settings readers do not need to check file
+ * timestamps on every access. Watching is best effort, {@link #isWatching()} returns false if any of the files could
+ * not be watched, i.e. because its directory does not exist or the file system does not support change notification.
+ *
+ * @since 1.8
+ */
+class SettingsFileWatcher {
+  private static final Logger log = LoggerFactory.getLogger(SettingsFileWatcher.class);
+
+  private final Runnable onChange;
+
+  private WatchService watchService;
+
+  private Thread thread;
+
+  private Set<Path> files = new HashSet<Path>();
+
+  private volatile boolean watching;
+
+  SettingsFileWatcher(Runnable onChange) {
+    this.onChange = onChange;
+  }
+
+  /**
+   * (Re)starts watching given files, null files are ignored.
+   */
+  synchronized void watch(File... settingsFiles) {
+    Set<Path> newFiles = new HashSet<Path>();
+    for(File file : settingsFiles) {
+      if(file != null) {
+        newFiles.add(file.getAbsoluteFile().toPath());
+      }
+    }
+    if(watchService != null && newFiles.equals(files)) {
+      return;
+    }
+
+    close();
+    files = newFiles;
+    try {
+      WatchService newWatchService = FileSystems.getDefault().newWatchService();
+      boolean allWatched = true;
+      for(Path file : files) {
+        Path dir = file.getParent();
+        if(dir != null && dir.toFile().isDirectory()) {
+          dir.register(newWatchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+              StandardWatchEventKinds.ENTRY_DELETE);
+        } else {
+          allWatched = false;
+        }
+      }
+      watchService = newWatchService;
+      thread = new Thread(new Runnable() {
+        public void run() {
+          processEvents();
+        }
+      }, "m2e settings.xml watcher"); //$NON-NLS-1$
+      thread.setDaemon(true);
+      thread.start();
+      watching = allWatched;
+    } catch(IOException ex) {
+      log.debug("Could not watch settings.xml files, will check timestamps instead", ex); //$NON-NLS-1$
+      watching = false;
+    }
+  }
+
+  boolean isWatching() {
+    return watching;
+  }
+
+  synchronized void close() {
+    watching = false;
+    if(watchService != null) {
+      try {
+        watchService.close();
+      } catch(IOException ex) {
+        // ignore
+      }
+      watchService = null;
+      thread = null;
+    }
+  }
+
+  void processEvents() {
+    WatchService service;
+    Set<Path> watched;
+    synchronized(this) {
+      service = watchService;
+      watched = files;
+    }
+    if(service == null) {
+      return;
+    }
+    try {
+      while(true) {
+        WatchKey key = service.take();
+        boolean changed = false;
+        for(WatchEvent<?> event : key.pollEvents()) {
+          if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            changed = true;
+          } else {
+            Path dir = (Path) key.watchable();
+            changed |= watched.contains(dir.resolve((Path) event.context()));
+          }
+        }
+        key.reset();
+        if(changed) {
+          try {
+            onChange.run();
+          } catch(RuntimeException ex) {
+            log.error("Could not reload settings.xml", ex); //$NON-NLS-1$
+          }
+        }
+      }
+    } catch(InterruptedException ex) {
+      // exit
+    } catch(ClosedWatchServiceException ex) {
+      // exit
+    }
+  }
+}
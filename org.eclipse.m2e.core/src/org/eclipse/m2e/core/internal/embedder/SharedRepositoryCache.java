@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.embedder;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.repository.WorkspaceReader;
+
+import org.eclipse.m2e.core.internal.project.registry.EclipseWorkspaceArtifactRepository;
+
+
+/**
+ * RepositoryCache shared by all repository sessions of the embedded maven runtime, so version and artifact descriptor
+ * resolution results are reused across project refreshes. Aether keys cached data by artifact only, so the cache is
+ * partitioned by session configuration that affects resolution results: workspace reader, offline mode and user and
+ * system properties. Cached data expires according to session update policy and is discarded as a whole by
+ * {@link #invalidate()}.
+ *
+ * @since 1.8
+ */
+class SharedRepositoryCache implements RepositoryCache {
+
+  /**
+   * Session configuration keys by session. Nested and forked sessions share session data with their parent but have
+   * their own configuration, so keys are not kept in session data. Sessions do not override equals, so lookup is by
+   * identity.
+   */
+  private final Map<RepositorySystemSession, Object> sessionKeys = Collections
+      .synchronizedMap(new WeakHashMap<RepositorySystemSession, Object>());
+
+  private volatile Generation generation = new Generation();
+
+  public Object get(RepositorySystemSession session, Object key) {
+    return getEntries(session).get(key);
+  }
+
+  public void put(RepositorySystemSession session, Object key, Object data) {
+    if(data != null) {
+      getEntries(session).put(key, data);
+    } else {
+      getEntries(session).remove(key);
+    }
+  }
+
+  void invalidate() {
+    generation = new Generation();
+  }
+
+  private ConcurrentMap<Object, Object> getEntries(RepositorySystemSession session) {
+    Generation current = getGeneration(session);
+    Object sessionKey = getSessionKey(session);
+    ConcurrentMap<Object, Object> entries = current.partitions.get(sessionKey);
+    if(entries == null) {
+      entries = new ConcurrentHashMap<Object, Object>();
+      ConcurrentMap<Object, Object> existing = current.partitions.putIfAbsent(sessionKey, entries);
+      if(existing != null) {
+        entries = existing;
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Session configuration that affects resolution results. Workspace resolution can be disabled for the current thread,
+   * so the workspace reader part is computed for each lookup.
+   */
+  private Object getSessionKey(RepositorySystemSession session) {
+    Object key = sessionKeys.get(session);
+    if(key == null) {
+      key = Arrays.asList(session.isOffline(), new HashMap<String, String>(session.getUserProperties()),
+          new HashMap<String, String>(session.getSystemProperties()));
+      sessionKeys.put(session, key);
+    }
+    return Arrays.asList(getReaderKey(session.getWorkspaceReader()), key);
+  }
+
+  private static Object getReaderKey(WorkspaceReader reader) {
+    if(reader == null) {
+      return null;
+    }
+    if(reader instanceof EclipseWorkspaceArtifactRepository) {
+      // m2e workspace readers are interchangeable, except workspace resolution can be disabled
+      return Arrays.asList(EclipseWorkspaceArtifactRepository.class,
+          ((EclipseWorkspaceArtifactRepository) reader).isResolveWorkspaceProjects(),
+          EclipseWorkspaceArtifactRepository.isDisabled());
+    }
+    return new ReaderIdentity(reader);
+  }
+
+  private Generation getGeneration(RepositorySystemSession session) {
+    Generation current = generation;
+    if(current.isExpired(session.getUpdatePolicy())) {
+      synchronized(this) {
+        if(current == generation) {
+          generation = new Generation();
+        }
+        current = generation;
+      }
+    }
+    return current;
+  }
+
+  private static class Generation {
+    final long created = System.currentTimeMillis();
+
+    /**
+     * Start of the next day, when cached data of default daily update policy expires.
+     */
+    final long nextMidnight;
+
+    final ConcurrentMap<Object, ConcurrentMap<Object, Object>> partitions = //
+        new ConcurrentHashMap<Object, ConcurrentMap<Object, Object>>();
+
+    Generation() {
+      Calendar midnight = Calendar.getInstance();
+      midnight.setTimeInMillis(created);
+      midnight.set(Calendar.HOUR_OF_DAY, 0);
+      midnight.set(Calendar.MINUTE, 0);
+      midnight.set(Calendar.SECOND, 0);
+      midnight.set(Calendar.MILLISECOND, 0);
+      midnight.add(Calendar.DAY_OF_MONTH, 1);
+      nextMidnight = midnight.getTimeInMillis();
+    }
+
+    /**
+     * Same semantics as aether update policy analyzer, null policy means maven default daily policy.
+     */
+    boolean isExpired(String policy) {
+      if(policy == null || RepositoryPolicy.UPDATE_POLICY_DAILY.equals(policy)) {
+        return System.currentTimeMillis() >= nextMidnight;
+      } else if(RepositoryPolicy.UPDATE_POLICY_ALWAYS.equals(policy)) {
+        return true;
+      } else if(RepositoryPolicy.UPDATE_POLICY_NEVER.equals(policy)) {
+        return false;
+      } else if(policy.startsWith(RepositoryPolicy.UPDATE_POLICY_INTERVAL)) {
+        int minutes;
+        try {
+          minutes = Integer.parseInt(policy.substring(RepositoryPolicy.UPDATE_POLICY_INTERVAL.length() + 1));
+        } catch(RuntimeException ex) {
+          minutes = 24 * 60;
+        }
+        return created < System.currentTimeMillis() - minutes * 60L * 1000L;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Compares workspace readers by identity, their resolution results are not known to be interchangeable.
+   */
+  private static class ReaderIdentity {
+    private final WorkspaceReader reader;
+
+    ReaderIdentity(WorkspaceReader reader) {
+      this.reader = reader;
+    }
+
+    public boolean equals(Object obj) {
+      return obj instanceof ReaderIdentity && ((ReaderIdentity) obj).reader == reader;
+    }
+
+    public int hashCode() {
+      return System.identityHashCode(reader);
+    }
+  }
+}
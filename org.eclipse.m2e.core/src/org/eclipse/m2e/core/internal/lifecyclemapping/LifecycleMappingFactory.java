@@ -71,6 +71,8 @@ import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.project.MavenProject;
 
 import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.embedder.ArtifactResolution;
 import org.eclipse.m2e.core.embedder.IMaven;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
@@ -367,20 +369,32 @@ public class LifecycleMappingFactory {
     }
     Map<File, LifecycleMappingMetadataSource> result = new LinkedHashMap<File, LifecycleMappingMetadataSource>();
 
-    MavenImpl maven = (MavenImpl) MavenPlugin.getMaven();
+    IMaven maven = MavenPlugin.getMaven();
 
+    Set<ArtifactKey> plugins = new LinkedHashSet<ArtifactKey>();
     for(MojoExecution execution : mojoExecutions) {
-      Artifact artifact;
-      // 422135 disable workspace resolution for plugin artifacts
-      boolean disabled = EclipseWorkspaceArtifactRepository.isDisabled();
-      EclipseWorkspaceArtifactRepository.setDisabled(true);
-      try {
-        artifact = maven.resolvePluginArtifact(execution.getPlugin(), remoteRepositories, monitor);
-      } catch(CoreException e) {
+      Plugin plugin = execution.getPlugin();
+      plugins.add(new ArtifactKey(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), null));
+    }
+
+    List<ArtifactResolution> resolutions;
+    // 422135 disable workspace resolution for plugin artifacts
+    boolean disabled = EclipseWorkspaceArtifactRepository.isDisabled();
+    EclipseWorkspaceArtifactRepository.setDisabled(true);
+    try {
+      resolutions = maven.resolveAll(plugins, remoteRepositories, monitor);
+    } catch(CoreException e) {
+      log.error(e.getMessage(), e);
+      return Collections.emptyList();
+    } finally {
+      EclipseWorkspaceArtifactRepository.setDisabled(disabled);
+    }
+
+    for(ArtifactResolution resolution : resolutions) {
+      Artifact artifact = resolution.getArtifact();
+      if(artifact == null) {
         // skip this plugin, it won't run anyways
         continue;
-      } finally {
-        EclipseWorkspaceArtifactRepository.setDisabled(disabled);
       }
 
       File file = artifact.getFile();
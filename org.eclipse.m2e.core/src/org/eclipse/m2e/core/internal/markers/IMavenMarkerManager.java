@@ -37,6 +37,24 @@ public interface IMavenMarkerManager {
    */
   public void addMarkers(IResource pomFile, String type, MavenExecutionResult result);
 
+  /**
+   * Replace markers of the specified type (including subtypes) on a pom file with markers for messages from a
+   * MavenExecutionResult.
+   * 
+   * @see #reconcileMarkers(IResource, String, List)
+   * @since 1.8
+   */
+  public void reconcileMarkers(IResource pomFile, String type, MavenExecutionResult result) throws CoreException;
+
+  /**
+   * Replace markers of the specified type (including subtypes) on an IResource with markers for the problems. Markers
+   * that match a problem are kept as is, other markers are deleted and missing markers are created, all in a single
+   * workspace operation, so only actual changes are reported to resource change listeners.
+   * 
+   * @since 1.8
+   */
+  public void reconcileMarkers(IResource resource, String type, List<MavenProblemInfo> problems) throws CoreException;
+
   /**
    * Add a Maven marker to a resource
    * 
@@ -12,7 +12,11 @@
 package org.eclipse.m2e.core.internal.markers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -22,7 +26,10 @@ import com.google.common.base.Throwables;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.osgi.util.NLS;
 
@@ -46,6 +53,9 @@ public class MavenMarkerManager implements IMavenMarkerManager {
 
   private static Logger log = LoggerFactory.getLogger(MavenMarkerManager.class);
 
+  static final String[] MARKER_KEY_ATTRIBUTES = {IMarker.MESSAGE, IMarker.LINE_NUMBER, IMarker.SEVERITY,
+      IMarker.TRANSIENT};
+
   private final IMavenConfiguration mavenConfiguration;
 
   public MavenMarkerManager(IMavenConfiguration mavenConfiguration) {
@@ -54,6 +64,79 @@ public class MavenMarkerManager implements IMavenMarkerManager {
 
   @Override
   public void addMarkers(IResource pomResource, String type, MavenExecutionResult result) {
+    addErrorMarkers(pomResource, type, toMavenProblemInfos(pomResource, result));
+  }
+
+  @Override
+  public void reconcileMarkers(IResource pomResource, String type, MavenExecutionResult result) throws CoreException {
+    reconcileMarkers(pomResource, type, toMavenProblemInfos(pomResource, result));
+  }
+
+  @Override
+  public void reconcileMarkers(final IResource resource, final String type, final List<MavenProblemInfo> problems)
+      throws CoreException {
+    if(resource == null || !resource.isAccessible()) {
+      return;
+    }
+    final IWorkspace workspace = resource.getWorkspace();
+    workspace.run(new IWorkspaceRunnable() {
+      public void run(IProgressMonitor monitor) throws CoreException {
+        List<IMarker> obsolete = new ArrayList<IMarker>();
+        Map<List<Object>, IMarker> existing = new HashMap<List<Object>, IMarker>();
+        for(IMarker marker : resource.findMarkers(type, true /*includeSubtypes*/, IResource.DEPTH_INFINITE)) {
+          Object[] attributes = marker.getAttributes(MARKER_KEY_ATTRIBUTES);
+          List<Object> key = getMarkerKey(marker.getResource(), marker.getType(), attributes[0], attributes[1],
+              attributes[2], attributes[3]);
+          if(existing.put(key, marker) != null) {
+            obsolete.add(marker);
+          }
+        }
+
+        int created = 0;
+        Set<List<Object>> desired = new HashSet<List<Object>>();
+        for(MavenProblemInfo problem : problems) {
+          int lineNumber = problem.getLocation().getLineNumber();
+          if(lineNumber == -1) {
+            lineNumber = 1;
+          }
+          List<Object> key = getMarkerKey(resource, type, problem.getMessage(), lineNumber, problem.getSeverity(),
+              Boolean.FALSE);
+          if(!desired.add(key)) {
+            // duplicate problem
+            continue;
+          }
+          IMarker marker = existing.remove(key);
+          if(marker == null) {
+            marker = resource.createMarker(type);
+            marker.setAttributes(MARKER_KEY_ATTRIBUTES,
+                new Object[] {problem.getMessage(), lineNumber, problem.getSeverity(), Boolean.FALSE});
+            created++ ;
+          }
+          // columns, cause location and editor hints may change while message and line stay the same,
+          // setting unchanged attribute values does not report a marker change
+          problem.processMarker(marker);
+          MarkerUtils.decorateMarker(marker);
+        }
+
+        obsolete.addAll(existing.values());
+        if(!obsolete.isEmpty()) {
+          workspace.deleteMarkers(obsolete.toArray(new IMarker[obsolete.size()]));
+        }
+        log.debug("Reconciled {} markers on resource '{}': {} created, {} deleted", //$NON-NLS-1$
+            type, resource.getFullPath(), created, obsolete.size());
+      }
+    }, workspace.getRuleFactory().markerRule(resource), IWorkspace.AVOID_UPDATE, null);
+  }
+
+  /**
+   * Marker identity used to match existing markers to problems, same attributes as {@link #findMarker}.
+   */
+  static List<Object> getMarkerKey(IResource resource, String type, Object message, Object lineNumber,
+      Object severity, Object isTransient) {
+    return Arrays.asList(resource, type, message, lineNumber, severity, isTransient);
+  }
+
+  private List<MavenProblemInfo> toMavenProblemInfos(IResource pomResource, MavenExecutionResult result) {
     SourceLocation defaultSourceLocation = new SourceLocation(1, 0, 0);
     List<MavenProblemInfo> allProblems = new ArrayList<MavenProblemInfo>();
 
@@ -77,7 +160,7 @@ public class MavenMarkerManager implements IMavenMarkerManager {
       addMissingArtifactProblemInfos(mavenProject, defaultSourceLocation, allProblems);
     }
 
-    addErrorMarkers(pomResource, type, allProblems);
+    return allProblems;
   }
 
   @Override
@@ -39,6 +39,13 @@ public class DependencyResolutionContext {
     this.pomFiles.addAll(pomFiles);
   }
 
+  /**
+   * Returns a snapshot of pom files that remain to be resolved.
+   */
+  public synchronized Set<IFile> getPomFiles() {
+    return new LinkedHashSet<IFile>(pomFiles);
+  }
+
   public synchronized IFile pop() {
     Iterator<IFile> i = pomFiles.iterator();
     IFile pom = i.next();
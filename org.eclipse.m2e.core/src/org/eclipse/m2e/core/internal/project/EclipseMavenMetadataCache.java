@@ -12,9 +12,12 @@
 package org.eclipse.m2e.core.internal.project;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -45,20 +48,29 @@ public class EclipseMavenMetadataCache extends DefaultMavenMetadataCache impleme
 
     if("pom".equals(artifact.getType())) { //$NON-NLS-1$
       // new project pom, remove any existing project entries
-      removeProject(gav);
+      removeProjects(Collections.singleton(gav));
     }
 
     super.put(artifact, resolveManagedVersions, localRepository, remoteRepositories, result);
   }
 
   @Override
-  public Set<File> removeProject(File pom, ArtifactKey key, boolean force) {
-    removeProject(key);
+  public Set<File> removeProjects(Map<File, ArtifactKey> projects, boolean force) {
+    removeProjects(projects.values());
     return Collections.emptySet();
   }
 
-  private void removeProject(ArtifactKey key) {
-    if(key == null) {
+  /**
+   * Removes all cache records that reference any of the keys, in a single pass over the cache.
+   */
+  private void removeProjects(Collection<ArtifactKey> keys) {
+    Set<ArtifactKey> gavs = new HashSet<ArtifactKey>();
+    for(ArtifactKey key : keys) {
+      if(key != null) {
+        gavs.add(new ArtifactKey(key.getGroupId(), key.getArtifactId(), key.getVersion(), null));
+      }
+    }
+    if(gavs.isEmpty()) {
       return;
     }
 
@@ -68,31 +80,26 @@ public class EclipseMavenMetadataCache extends DefaultMavenMetadataCache impleme
       Entry<CacheKey, CacheRecord> entry = iter.next();
       CacheRecord record = entry.getValue();
 
-      if(equals(record.getArtifact(), key) || contains(record.getArtifacts(), key)) {
+      if(matches(record.getArtifact(), gavs) || contains(record.getArtifacts(), gavs)) {
         iter.remove();
       }
     }
   }
 
-  private boolean contains(List<Artifact> artifacts, ArtifactKey key) {
+  private boolean contains(List<Artifact> artifacts, Set<ArtifactKey> gavs) {
     for(Artifact artifact : artifacts) {
-      if(equals(artifact, key)) {
+      if(matches(artifact, gavs)) {
         return true;
       }
     }
     return false;
   }
 
-  private boolean equals(Artifact artifact, ArtifactKey key) {
+  private boolean matches(Artifact artifact, Set<ArtifactKey> gavs) {
     /*
      * maybe too conservative, but purge anything that matches GAbV (bV==baseVersion)
      */
-    return eq(key.getGroupId(), artifact.getGroupId()) //
-        && eq(key.getArtifactId(), artifact.getArtifactId()) //
-        && eq(key.getVersion(), artifact.getBaseVersion());
-  }
-
-  private static <T> boolean eq(T a, T b) {
-    return a != null ? a.equals(b) : b == null;
+    return gavs.contains(
+        new ArtifactKey(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion(), null));
   }
 }
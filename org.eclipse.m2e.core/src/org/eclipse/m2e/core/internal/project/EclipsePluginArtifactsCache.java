@@ -12,6 +12,7 @@
 package org.eclipse.m2e.core.internal.project;
 
 import java.io.File;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Singleton;
@@ -38,9 +39,9 @@ public class EclipsePluginArtifactsCache extends DefaultPluginArtifactsCache imp
   }
 
   @Override
-  public Set<File> removeProject(File pom, ArtifactKey mavenProject, boolean forceDependencyUpdate) {
-    return plunger.removeProject(pom, forceDependencyUpdate);
-  };
+  public Set<File> removeProjects(Map<File, ArtifactKey> projects, boolean forceDependencyUpdate) {
+    return plunger.removeProjects(projects.keySet(), forceDependencyUpdate);
+  }
 
   @Override
   public void flush() {
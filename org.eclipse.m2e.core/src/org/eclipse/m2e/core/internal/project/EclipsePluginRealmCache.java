@@ -12,10 +12,29 @@
 package org.eclipse.m2e.core.internal.project;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Singleton;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.DefaultPluginRealmCache;
 import org.apache.maven.project.MavenProject;
 
@@ -23,35 +42,187 @@ import org.eclipse.m2e.core.embedder.ArtifactKey;
 
 
 /**
+ * Plugin class realm cache that flushes realms no longer used by workspace projects.
+ * <p>
+ * With {@code -Dorg.eclipse.m2e.core.pluginRealmSharing=true}, plugin realms are shared by all projects that use the
+ * same plugin with the same dependencies, regardless of project remote repositories. With
+ * {@code -Dorg.eclipse.m2e.core.pluginRealmCacheSize=<MB>}, least recently used realms are disposed when total size
+ * of cached realm jars exceeds the limit. The limit is soft, realms of executing mojos, see
+ * {@link #acquire(ClassRealm)}, and realms used during the last minute are not disposed.
+ *
  * @since 1.6
  */
 @Singleton
 @SuppressWarnings("synthetic-access")
-public class EclipsePluginRealmCache extends DefaultPluginRealmCache implements IManagedCache {
+public class EclipsePluginRealmCache extends DefaultPluginRealmCache implements IManagedRealmCache {
+  private static final Logger log = LoggerFactory.getLogger(EclipsePluginRealmCache.class);
+
+  private static final boolean SHARE_REALMS = Boolean.getBoolean("org.eclipse.m2e.core.pluginRealmSharing");
+
+  private static final long MAX_FOOTPRINT = Long.getLong("org.eclipse.m2e.core.pluginRealmCacheSize", 0L)
+      * 1024L * 1024L;
+
+  private static final long EVICTION_GRACE_PERIOD = 60L * 1000L;
 
   private final ProjectCachePlunger<Key> plunger = new ProjectCachePlunger<Key>() {
     protected void flush(Key cacheKey) {
       CacheRecord cacheRecord = cache.remove(cacheKey);
+      usage.remove(cacheKey);
       if(cacheRecord != null) {
         disposeClassRealm(cacheRecord.realm);
       }
     }
   };
 
+  private final ConcurrentMap<Key, RealmUsage> usage = new ConcurrentHashMap<Key, RealmUsage>();
+
+  @Override
+  public Key createKey(Plugin plugin, ClassLoader parentRealm, Map<String, ClassLoader> foreignImports,
+      DependencyFilter dependencyFilter, List<RemoteRepository> repositories, RepositorySystemSession session) {
+    if(SHARE_REALMS) {
+      // realm contents do not depend on where plugin artifacts were downloaded from
+      repositories = Collections.emptyList();
+    }
+    return super.createKey(plugin, parentRealm, foreignImports, dependencyFilter, repositories, session);
+  }
+
+  @Override
+  public CacheRecord get(Key key) {
+    CacheRecord cacheRecord = super.get(key);
+    if(cacheRecord != null) {
+      RealmUsage realmUsage = usage.get(key);
+      if(realmUsage != null) {
+        realmUsage.lastAccess = System.currentTimeMillis();
+      }
+    }
+    return cacheRecord;
+  }
+
+  @Override
+  public CacheRecord put(Key key, ClassRealm pluginRealm, List<Artifact> pluginArtifacts) {
+    CacheRecord cacheRecord = super.put(key, pluginRealm, pluginArtifacts);
+    usage.put(key, new RealmUsage(pluginRealm));
+    if(MAX_FOOTPRINT > 0) {
+      evict(key);
+    }
+    return cacheRecord;
+  }
+
+  /**
+   * Disposes least recently used realms, except the one just created, until cached realms fit into the limit.
+   */
+  private synchronized void evict(Key keep) {
+    long footprint = 0;
+    List<Map.Entry<Key, RealmUsage>> candidates = new ArrayList<Map.Entry<Key, RealmUsage>>();
+    long threshold = System.currentTimeMillis() - EVICTION_GRACE_PERIOD;
+    for(Map.Entry<Key, RealmUsage> entry : usage.entrySet()) {
+      footprint += entry.getValue().footprint;
+      if(!entry.getKey().equals(keep) && entry.getValue().lastAccess < threshold
+          && entry.getValue().executions.get() <= 0) {
+        candidates.add(entry);
+      }
+    }
+    if(footprint <= MAX_FOOTPRINT) {
+      return;
+    }
+    Collections.sort(candidates, new Comparator<Map.Entry<Key, RealmUsage>>() {
+      public int compare(Map.Entry<Key, RealmUsage> e1, Map.Entry<Key, RealmUsage> e2) {
+        return Long.compare(e1.getValue().lastAccess, e2.getValue().lastAccess);
+      }
+    });
+    for(Map.Entry<Key, RealmUsage> candidate : candidates) {
+      if(footprint <= MAX_FOOTPRINT) {
+        break;
+      }
+      CacheRecord cacheRecord = cache.remove(candidate.getKey());
+      if(usage.remove(candidate.getKey(), candidate.getValue())) {
+        footprint -= candidate.getValue().footprint;
+      }
+      if(cacheRecord != null) {
+        log.debug("Disposing plugin realm {}, {} jars, {} KB", cacheRecord.realm.getId(), //$NON-NLS-1$
+            candidate.getValue().jars, candidate.getValue().footprint / 1024);
+        plunger.disposeClassRealm(cacheRecord.realm);
+      }
+    }
+  }
+
+  /**
+   * Marks the plugin realm as used by a mojo execution until {@link #release(ClassRealm)}. Realms in use are not
+   * disposed to fit into the cache size limit.
+   */
+  public void acquire(ClassRealm realm) {
+    RealmUsage realmUsage = getUsage(realm);
+    if(realmUsage != null) {
+      realmUsage.executions.incrementAndGet();
+    }
+  }
+
+  public void release(ClassRealm realm) {
+    RealmUsage realmUsage = getUsage(realm);
+    if(realmUsage != null) {
+      realmUsage.lastAccess = System.currentTimeMillis();
+      realmUsage.executions.decrementAndGet();
+    }
+  }
+
+  private RealmUsage getUsage(ClassRealm realm) {
+    if(realm != null) {
+      for(RealmUsage realmUsage : usage.values()) {
+        if(realmUsage.realm == realm) {
+          return realmUsage;
+        }
+      }
+    }
+    return null;
+  }
+
   @Override
   public void register(MavenProject project, Key cacheKey, CacheRecord record) {
     plunger.register(project, cacheKey);
   }
 
   @Override
-  public Set<File> removeProject(File pom, ArtifactKey mavenProject, boolean forceDependencyUpdate) {
-    return plunger.removeProject(pom, forceDependencyUpdate);
+  public Set<File> removeProjects(Map<File, ArtifactKey> projects, boolean forceDependencyUpdate) {
+    return plunger.removeProjects(projects.keySet(), forceDependencyUpdate);
+  }
+
+  public int getRealmCount() {
+    return cache.size();
+  }
+
+  public long getRealmFootprint() {
+    long footprint = 0;
+    for(RealmUsage realmUsage : usage.values()) {
+      footprint += realmUsage.footprint;
+    }
+    return footprint;
   }
 
   @Override
   public void flush() {
     super.flush();
+    usage.clear();
     plunger.flush();
   }
 
+  private static class RealmUsage {
+    final ClassRealm realm;
+
+    final long footprint;
+
+    final int jars;
+
+    volatile long lastAccess = System.currentTimeMillis();
+
+    /**
+     * Number of mojo executions in progress that use the realm.
+     */
+    final AtomicInteger executions = new AtomicInteger();
+
+    RealmUsage(ClassRealm realm) {
+      this.realm = realm;
+      this.footprint = ProjectCachePlunger.getFootprint(realm);
+      this.jars = realm.getURLs().length;
+    }
+  }
 }
@@ -12,6 +12,7 @@
 package org.eclipse.m2e.core.internal.project;
 
 import java.io.File;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Singleton;
@@ -27,7 +28,7 @@ import org.eclipse.m2e.core.embedder.ArtifactKey;
  */
 @Singleton
 @SuppressWarnings("synthetic-access")
-public class EclipseProjectRealmCache extends DefaultProjectRealmCache implements IManagedCache {
+public class EclipseProjectRealmCache extends DefaultProjectRealmCache implements IManagedRealmCache {
 
   private final ProjectCachePlunger<Key> plunger = new ProjectCachePlunger<Key>() {
     protected void flush(Key cacheKey) {
@@ -44,8 +45,20 @@ public class EclipseProjectRealmCache extends DefaultProjectRealmCache implement
   }
 
   @Override
-  public Set<File> removeProject(File pom, ArtifactKey mavenProject, boolean forceDependencyUpdate) {
-    return plunger.removeProject(pom, forceDependencyUpdate);
+  public Set<File> removeProjects(Map<File, ArtifactKey> projects, boolean forceDependencyUpdate) {
+    return plunger.removeProjects(projects.keySet(), forceDependencyUpdate);
+  }
+
+  public int getRealmCount() {
+    return cache.size();
+  }
+
+  public long getRealmFootprint() {
+    long footprint = 0;
+    for(CacheRecord cacheRecord : cache.values()) {
+      footprint += ProjectCachePlunger.getFootprint(cacheRecord.realm);
+    }
+    return footprint;
   }
 
   @Override
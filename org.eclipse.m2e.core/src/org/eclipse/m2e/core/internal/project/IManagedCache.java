@@ -12,6 +12,7 @@
 package org.eclipse.m2e.core.internal.project;
 
 import java.io.File;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.m2e.core.embedder.ArtifactKey;
@@ -19,6 +20,13 @@ import org.eclipse.m2e.core.embedder.ArtifactKey;
 
 public interface IManagedCache {
 
-  Set<File> removeProject(File pom, ArtifactKey mavenProject, boolean forceDependencyUpdate);
+  /**
+   * Removes cache entries of all given projects in one pass and returns projects that need to be refreshed as a
+   * result.
+   *
+   * @param projects pom files of removed projects mapped to their artifact keys, keys can be null
+   * @since 1.8
+   */
+  Set<File> removeProjects(Map<File, ArtifactKey> projects, boolean forceDependencyUpdate);
 
 }
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project;
+
+/**
+ * Managed cache of maven class realms.
+ *
+ * @since 1.8
+ */
+public interface IManagedRealmCache extends IManagedCache {
+
+  /**
+   * Returns number of cached class realms.
+   */
+  int getRealmCount();
+
+  /**
+   * Returns approximate memory footprint of cached class realms, i.e. total size of their jar files in bytes.
+   */
+  long getRealmFootprint();
+
+}
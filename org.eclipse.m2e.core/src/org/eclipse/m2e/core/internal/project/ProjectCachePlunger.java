@@ -12,15 +12,19 @@
 package org.eclipse.m2e.core.internal.project;
 
 import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
-
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RepositoryPolicy;
 
@@ -33,52 +37,119 @@ import org.eclipse.m2e.core.internal.embedder.MavenExecutionContext;
 
 
 /**
+ * Tracks which workspace projects use which cache entries and flushes entries that are no longer used by any project.
+ * Thread safe, projects can be registered and removed concurrently.
+ *
  * @since 1.6
  */
 abstract class ProjectCachePlunger<Key> {
 
   private final Logger log = LoggerFactory.getLogger(getClass());
 
-  final Multimap<File, Key> projectKeys = HashMultimap.create();
+  private final ConcurrentMap<File, Set<Key>> projectKeys = new ConcurrentHashMap<File, Set<Key>>();
 
-  final Multimap<Key, File> keyProjects = HashMultimap.create();
+  private final ConcurrentMap<Key, References> keyProjects = new ConcurrentHashMap<Key, References>();
 
   public void register(MavenProject project, Key cacheKey) {
     // project.file is null for parent pom.xml resolved from repositories
     File file = project.getFile();
-    if(file != null) {
-      projectKeys.put(file, cacheKey);
-      keyProjects.put(cacheKey, file);
+    if(file == null) {
+      return;
+    }
+
+    Set<Key> keys = projectKeys.get(file);
+    if(keys == null) {
+      keys = Collections.newSetFromMap(new ConcurrentHashMap<Key, Boolean>());
+      Set<Key> existing = projectKeys.putIfAbsent(file, keys);
+      if(existing != null) {
+        keys = existing;
+      }
+    }
+    keys.add(cacheKey);
+
+    while(true) {
+      References references = keyProjects.get(cacheKey);
+      if(references == null) {
+        references = new References();
+        References existing = keyProjects.putIfAbsent(cacheKey, references);
+        if(existing != null) {
+          references = existing;
+        }
+      }
+      synchronized(references) {
+        if(!references.released) {
+          references.projects.add(file);
+          return;
+        }
+      }
+      // the last project released the entry concurrently, start over
     }
   }
 
-  public Set<File> removeProject(File pom, boolean forceDependencyUpdate) {
+  /**
+   * Removes the projects and flushes cache entries not used by other projects, each entry is flushed once no matter
+   * how many of the removed projects used it. Returns projects that used flushed entries during forced dependency
+   * update and need to be refreshed.
+   */
+  public Set<File> removeProjects(Collection<File> poms, boolean forceDependencyUpdate) {
     MavenExecutionContext context = MavenExecutionContext.getThreadContext();
     RepositorySystemSession session = context != null ? context.getRepositorySession() : null;
     if(forceDependencyUpdate && session == null) {
       throw new IllegalArgumentException();
     }
     final Set<File> affectedProjects = new HashSet<>();
+    final Set<Key> released = new LinkedHashSet<>();
 
-    for(Key cacheKey : projectKeys.removeAll(pom)) {
-      keyProjects.remove(cacheKey, pom);
-      if(forceDependencyUpdate && RepositoryPolicy.UPDATE_POLICY_ALWAYS.equals(session.getUpdatePolicy())
-          && session.getCache().get(session, cacheKey) == null) {
-        session.getCache().put(session, cacheKey, Boolean.TRUE);
-        for(File affectedPom : keyProjects.removeAll(cacheKey)) {
+    for(File pom : poms) {
+      Set<Key> keys = projectKeys.remove(pom);
+      if(keys == null) {
+        continue;
+      }
+      for(Key cacheKey : keys) {
+        References references = keyProjects.get(cacheKey);
+        if(references == null) {
+          continue;
+        }
+        Set<File> dropped = Collections.emptySet();
+        synchronized(references) {
+          references.projects.remove(pom);
+          if(forceDependencyUpdate && RepositoryPolicy.UPDATE_POLICY_ALWAYS.equals(session.getUpdatePolicy())
+              && session.getCache().get(session, cacheKey) == null) {
+            session.getCache().put(session, cacheKey, Boolean.TRUE);
+            dropped = new HashSet<>(references.projects);
+            references.projects.clear();
+          }
+          if(references.projects.isEmpty()) {
+            references.released = true;
+            keyProjects.remove(cacheKey, references);
+            released.add(cacheKey);
+          }
+        }
+        for(File affectedPom : dropped) {
           affectedProjects.add(affectedPom);
-          projectKeys.remove(affectedPom, cacheKey);
+          Set<Key> affectedKeys = projectKeys.get(affectedPom);
+          if(affectedKeys != null) {
+            affectedKeys.remove(cacheKey);
+          }
         }
       }
-      if(!keyProjects.containsKey(cacheKey)) {
-        flush(cacheKey);
-        log.debug("Flushed cache entry for {}", cacheKey);
-      }
+    }
+
+    for(Key cacheKey : released) {
+      flush(cacheKey);
+      log.debug("Flushed cache entry for {}", cacheKey);
     }
 
     return affectedProjects;
   }
 
+  /**
+   * Returns number of cache entries used by workspace projects.
+   */
+  public int getEntryCount() {
+    return keyProjects.size();
+  }
+
   protected void disposeClassRealm(ClassRealm realm) {
     try {
       realm.getWorld().disposeRealm(realm.getId());
@@ -87,10 +158,34 @@ abstract class ProjectCachePlunger<Key> {
     }
   }
 
+  /**
+   * Approximates memory used by the class realm as the total size of its jar files.
+   */
+  protected static long getFootprint(ClassRealm realm) {
+    long footprint = 0;
+    for(URL url : realm.getURLs()) {
+      if("file".equals(url.getProtocol())) { //$NON-NLS-1$
+        try {
+          // url path is encoded, spaces and other special characters need to be decoded
+          footprint += new File(url.toURI()).length();
+        } catch(URISyntaxException | IllegalArgumentException ex) {
+          // not a valid file url, does not count
+        }
+      }
+    }
+    return footprint;
+  }
+
   protected abstract void flush(Key cacheKey);
 
   public void flush() {
     projectKeys.clear();
     keyProjects.clear();
   }
+
+  private static class References {
+    final Set<File> projects = new HashSet<File>();
+
+    boolean released;
+  }
 }
@@ -20,9 +20,6 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
-
 import org.eclipse.core.resources.IFile;
 
 import org.eclipse.m2e.core.embedder.ArtifactKey;
@@ -70,6 +67,12 @@ abstract class BasicProjectRegistry implements Serializable {
    */
   protected final Map<IFile, Set<RequiredCapability>> projectRequirements = new HashMap<>();
 
+  /**
+   * Index of workspaceArtifacts by groupId:artifactId. Built lazily, then updated incrementally as workspaceArtifacts
+   * change, see {@link #updateWorkspaceArtifactIndex(ArtifactKey)}.
+   */
+  private transient Map<String, WorkspaceArtifactVersions> workspaceArtifactIndex;
+
   protected BasicProjectRegistry() {
   }
 
@@ -89,6 +92,11 @@ abstract class BasicProjectRegistry implements Serializable {
     for(MavenProjectFacade facade : workspacePoms.values()) {
       workspacePomFiles.put(facade.getPomFile(), facade);
     }
+
+    // index entries are immutable and can be shared
+    if(other.workspaceArtifactIndex != null) {
+      workspaceArtifactIndex = new HashMap<>(other.workspaceArtifactIndex);
+    }
   }
 
   /**
@@ -134,14 +142,65 @@ abstract class BasicProjectRegistry implements Serializable {
   }
 
   public Map<ArtifactKey, Collection<IFile>> getWorkspaceArtifacts(String groupId, String artifactId) {
-    Multimap<ArtifactKey, IFile> artifacts = HashMultimap.create();
-    for(Map.Entry<ArtifactKey, Set<IFile>> entry : workspaceArtifacts.entrySet()) {
-      ArtifactKey workspaceKey = entry.getKey();
-      if(groupId.equals(workspaceKey.getGroupId()) && artifactId.equals(workspaceKey.getArtifactId())) {
-        artifacts.putAll(workspaceKey, entry.getValue());
+    return getWorkspaceArtifactVersions(groupId, artifactId).asMap();
+  }
+
+  public WorkspaceArtifactVersions getWorkspaceArtifactVersions(String groupId, String artifactId) {
+    WorkspaceArtifactVersions versions = getWorkspaceArtifactIndex().get(getIndexKey(groupId, artifactId));
+    return versions != null ? versions : WorkspaceArtifactVersions.EMPTY;
+  }
+
+  private Map<String, WorkspaceArtifactVersions> getWorkspaceArtifactIndex() {
+    if(workspaceArtifactIndex == null) {
+      Map<String, Map<ArtifactKey, Set<IFile>>> artifacts = new HashMap<>();
+      for(Map.Entry<ArtifactKey, Set<IFile>> entry : workspaceArtifacts.entrySet()) {
+        ArtifactKey key = entry.getKey();
+        String indexKey = getIndexKey(key.getGroupId(), key.getArtifactId());
+        Map<ArtifactKey, Set<IFile>> gaArtifacts = artifacts.get(indexKey);
+        if(gaArtifacts == null) {
+          gaArtifacts = new LinkedHashMap<>();
+          artifacts.put(indexKey, gaArtifacts);
+        }
+        gaArtifacts.put(key, entry.getValue());
+      }
+      Map<String, WorkspaceArtifactVersions> index = new HashMap<>();
+      for(Map.Entry<String, Map<ArtifactKey, Set<IFile>>> entry : artifacts.entrySet()) {
+        WorkspaceArtifactVersions versions = new WorkspaceArtifactVersions(entry.getValue());
+        if(!versions.isEmpty()) {
+          index.put(entry.getKey(), versions);
+        }
       }
+      workspaceArtifactIndex = index;
     }
-    return artifacts.asMap();
+    return workspaceArtifactIndex;
+  }
+
+  /**
+   * Must be called after workspaceArtifacts entry of the given artifact has changed.
+   */
+  protected final void updateWorkspaceArtifactIndex(ArtifactKey key) {
+    if(workspaceArtifactIndex == null) {
+      return; // will be built from scratch when needed
+    }
+    String indexKey = getIndexKey(key.getGroupId(), key.getArtifactId());
+    Map<ArtifactKey, Set<IFile>> artifacts = new LinkedHashMap<>();
+    WorkspaceArtifactVersions versions = workspaceArtifactIndex.get(indexKey);
+    if(versions != null) {
+      for(ArtifactKey other : versions.getArtifactKeys()) {
+        artifacts.put(other, workspaceArtifacts.get(other));
+      }
+    }
+    artifacts.put(key, workspaceArtifacts.get(key));
+    versions = new WorkspaceArtifactVersions(artifacts);
+    if(versions.isEmpty()) {
+      workspaceArtifactIndex.remove(indexKey);
+    } else {
+      workspaceArtifactIndex.put(indexKey, versions);
+    }
+  }
+
+  private static String getIndexKey(String groupId, String artifactId) {
+    return groupId + ':' + artifactId;
   }
 
   protected void clear() {
@@ -151,6 +210,7 @@ abstract class BasicProjectRegistry implements Serializable {
     requiredCapabilities.clear();
     projectCapabilities.clear();
     projectRequirements.clear();
+    workspaceArtifactIndex = null;
   }
 
   public boolean isValid() {
@@ -55,14 +55,12 @@ public class DefaultMavenDependencyResolver extends AbstractMavenDependencyResol
     long start = System.currentTimeMillis();
     log.debug("Resolving dependencies for {}", facade.toString()); //$NON-NLS-1$
 
-    markerManager.deleteMarkers(facade.getPom(), IMavenConstants.MARKER_DEPENDENCY_ID);
-
     ProjectBuildingRequest configuration = getMaven().getExecutionContext().newProjectBuildingRequest();
     configuration.setProject(facade.getMavenProject()); // TODO do we need this?
     configuration.setResolveDependencies(true);
     MavenExecutionResult mavenResult = getMaven().readMavenProject(facade.getPomFile(), configuration);
 
-    markerManager.addMarkers(facade.getPom(), IMavenConstants.MARKER_DEPENDENCY_ID, mavenResult);
+    markerManager.reconcileMarkers(facade.getPom(), IMavenConstants.MARKER_DEPENDENCY_ID, mavenResult);
 
     if(!facade.getResolverConfiguration().shouldResolveWorkspaceProjects()) {
       return;
@@ -13,17 +13,15 @@ package org.eclipse.m2e.core.internal.project.registry;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.repository.WorkspaceReader;
 import org.eclipse.aether.repository.WorkspaceRepository;
 import org.eclipse.aether.util.version.GenericVersionScheme;
 import org.eclipse.aether.version.InvalidVersionSpecificationException;
-import org.eclipse.aether.version.Version;
 import org.eclipse.aether.version.VersionConstraint;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -33,12 +31,18 @@ import org.eclipse.core.runtime.IPath;
 
 import org.apache.maven.repository.LocalArtifactRepository;
 
-import org.eclipse.m2e.core.embedder.ArtifactKey;
-
 
 public final class EclipseWorkspaceArtifactRepository extends LocalArtifactRepository implements WorkspaceReader {
   private static final GenericVersionScheme versionScheme = new GenericVersionScheme();
 
+  private static final int MAX_VERSION_CONSTRAINTS = 1000;
+
+  /**
+   * Parsed dependency version constraints, the same few version specs are resolved over and over again
+   */
+  private static final Map<String, VersionConstraint> versionConstraints = //
+      new ConcurrentHashMap<String, VersionConstraint>();
+
   private final transient ProjectRegistryManager.Context context;
 
   private static final ThreadLocal<Boolean> disabled = new ThreadLocal<Boolean>();
@@ -93,33 +97,31 @@ public final class EclipseWorkspaceArtifactRepository extends LocalArtifactRepos
   }
 
   private IFile getWorkspaceArtifact(String groupId, String artifactId, String version) {
-    Map<ArtifactKey, Collection<IFile>> workspaceArtifacts = context.state.getWorkspaceArtifacts(groupId, artifactId);
+    WorkspaceArtifactVersions workspaceArtifacts = context.state.getWorkspaceArtifactVersions(groupId, artifactId);
     if(workspaceArtifacts.isEmpty()) {
       return null;
     }
-    VersionConstraint constraint;
-    try {
-      constraint = versionScheme.parseVersionConstraint(version);
-    } catch(InvalidVersionSpecificationException e) {
+    VersionConstraint constraint = getVersionConstraint(version);
+    if(constraint == null) {
       return null; // broken version range spec does not match anything
     }
-    TreeMap<Version, ArtifactKey> matchingArtifacts = new TreeMap<>();
-    // in vast majority of cases there will be single workspace artifact with matching groupId and artifactId
-    for(ArtifactKey workspaceArtifact : workspaceArtifacts.keySet()) {
+    return workspaceArtifacts.getMatchingPom(constraint);
+  }
+
+  private static VersionConstraint getVersionConstraint(String version) {
+    VersionConstraint constraint = versionConstraints.get(version);
+    if(constraint == null) {
       try {
-        Version workspaceVersion = versionScheme.parseVersion(workspaceArtifact.getVersion());
-        if(constraint.containsVersion(workspaceVersion)) {
-          matchingArtifacts.put(workspaceVersion, workspaceArtifact);
-        }
+        constraint = versionScheme.parseVersionConstraint(version);
       } catch(InvalidVersionSpecificationException e) {
-        // this can't happen with GenericVersionScheme
+        return null;
       }
+      if(versionConstraints.size() >= MAX_VERSION_CONSTRAINTS) {
+        versionConstraints.clear();
+      }
+      versionConstraints.put(version, constraint);
     }
-    if(matchingArtifacts.isEmpty()) {
-      return null;
-    }
-    ArtifactKey matchingArtifact = matchingArtifacts.values().iterator().next();
-    return workspaceArtifacts.get(matchingArtifact).iterator().next();
+    return constraint;
   }
 
   public File findArtifact(Artifact artifact) {
@@ -151,6 +153,13 @@ public final class EclipseWorkspaceArtifactRepository extends LocalArtifactRepos
     return Boolean.TRUE.equals(disabled.get());
   }
 
+  /**
+   * Returns {@code true} if this repository resolves artifacts from workspace projects.
+   */
+  public boolean isResolveWorkspaceProjects() {
+    return context != null && context.resolverConfiguration.shouldResolveWorkspaceProjects();
+  }
+
   public int hashCode() {
     return 0; // no state
   }
@@ -179,12 +188,7 @@ public final class EclipseWorkspaceArtifactRepository extends LocalArtifactRepos
       return versions;
     }
 
-    for(MavenProjectFacade facade : context.state.getProjects()) {
-      ArtifactKey artifactKey = facade.getArtifactKey();
-      if(groupId.equals(artifactKey.getGroupId()) && artifactId.equals(artifactKey.getArtifactId())) {
-        versions.add(artifactKey.getVersion());
-      }
-    }
+    versions.addAll(context.state.getWorkspaceArtifactVersions(groupId, artifactId).getVersions());
 
     return versions;
   }
@@ -34,4 +34,9 @@ public interface IProjectRegistry {
 
   public Map<ArtifactKey, Collection<IFile>> getWorkspaceArtifacts(String groupId, String artifactId);
 
+  /**
+   * @since 1.8
+   */
+  public WorkspaceArtifactVersions getWorkspaceArtifactVersions(String groupId, String artifactId);
+
 }
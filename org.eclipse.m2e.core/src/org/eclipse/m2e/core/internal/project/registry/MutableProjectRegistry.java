@@ -65,6 +65,7 @@ public class MutableProjectRegistry extends BasicProjectRegistry implements IPro
       if(paths != null) {
         paths.remove(pom);
       }
+      updateWorkspaceArtifactIndex(oldFacade.getArtifactKey());
     }
     if(facade != null) {
       // Add the project to workspaceProjects map
@@ -77,6 +78,7 @@ public class MutableProjectRegistry extends BasicProjectRegistry implements IPro
         workspaceArtifacts.put(facade.getArtifactKey(), paths);
       }
       paths.add(pom);
+      updateWorkspaceArtifactIndex(facade.getArtifactKey());
     }
   }
 
@@ -97,6 +99,7 @@ public class MutableProjectRegistry extends BasicProjectRegistry implements IPro
       if(paths != null) {
         paths.remove(pom);
       }
+      updateWorkspaceArtifactIndex(mavenProject);
     }
 
     if(facade != null) {
@@ -168,6 +171,13 @@ public class MutableProjectRegistry extends BasicProjectRegistry implements IPro
     return super.getWorkspaceArtifacts(groupId, artifactId);
   }
 
+  public WorkspaceArtifactVersions getWorkspaceArtifactVersions(String groupId, String artifactId) {
+    if(isClosed()) {
+      return parent.getWorkspaceArtifactVersions(groupId, artifactId);
+    }
+    return super.getWorkspaceArtifactVersions(groupId, artifactId);
+  }
+
   // low level access and manipulation
 
   /**
@@ -53,6 +53,10 @@ public class ProjectRegistry extends BasicProjectRegistry implements Serializabl
     return super.getWorkspaceArtifacts(groupId, artifactId);
   }
 
+  public synchronized WorkspaceArtifactVersions getWorkspaceArtifactVersions(String groupId, String artifactId) {
+    return super.getWorkspaceArtifactVersions(groupId, artifactId);
+  }
+
   public synchronized List<MavenProjectChangedEvent> apply(MutableProjectRegistry newState)
       throws StaleMutableProjectRegistryException {
     if(newState.isStale()) {
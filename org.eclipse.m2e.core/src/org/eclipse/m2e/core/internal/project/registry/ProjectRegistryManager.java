@@ -55,6 +55,7 @@ import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
 
+import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
 
 import org.apache.maven.artifact.repository.MavenArtifactRepository;
@@ -93,6 +94,7 @@ import org.eclipse.m2e.core.internal.markers.IMavenMarkerManager;
 import org.eclipse.m2e.core.internal.markers.MarkerUtils;
 import org.eclipse.m2e.core.internal.project.DependencyResolutionContext;
 import org.eclipse.m2e.core.internal.project.IManagedCache;
+import org.eclipse.m2e.core.internal.project.IManagedRealmCache;
 import org.eclipse.m2e.core.internal.project.ResolverConfigurationIO;
 import org.eclipse.m2e.core.lifecyclemapping.model.IPluginExecutionMetadata;
 import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
@@ -242,7 +244,7 @@ public class ProjectRegistryManager {
     MavenProjectFacade facade = state.getProjectFacade(pom);
     ArtifactKey mavenProject = facade != null ? facade.getArtifactKey() : null;
 
-    flushCaches(state, pom, facade, false);
+    flushCaches(facade, false);
 
     if(mavenProject == null) {
       state.removeProject(pom, null);
@@ -363,6 +365,20 @@ public class ProjectRegistryManager {
     final Map<IFile, Set<Capability>> originalCapabilities = new HashMap<IFile, Set<Capability>>();
     final Map<IFile, Set<RequiredCapability>> originalRequirements = new HashMap<IFile, Set<RequiredCapability>>();
 
+    // flush maven caches of removed and closed projects in one pass. projects that are read again are flushed one at a
+    // time, right before they are read, so realms shared with other projects are registered again before the next
+    // flush and survive the refresh
+    Set<IFile> flushed = new HashSet<IFile>();
+    List<MavenProjectFacade> facades = new ArrayList<MavenProjectFacade>();
+    for(IFile pom : context.getPomFiles()) {
+      MavenProjectFacade facade = newState.getProjectFacade(pom);
+      if(facade != null && !isMavenProject(pom)) {
+        facades.add(facade);
+        flushed.add(pom);
+      }
+    }
+    context.forcePomFiles(flushCaches(facades, isForceDependencyUpdate()));
+
     // phase 1: build projects without dependencies and populate workspace with known projects
     while(!context.isEmpty()) {
       if(monitor.isCanceled()) {
@@ -378,12 +394,14 @@ public class ProjectRegistryManager {
       monitor.subTask(NLS.bind(Messages.ProjectRegistryManager_task_project, pom.getProject().getName()));
       MavenProjectFacade oldFacade = newState.getProjectFacade(pom);
 
-      context.forcePomFiles(flushCaches(newState, pom, oldFacade, isForceDependencyUpdate()));
+      if(!flushed.remove(pom)) {
+        context.forcePomFiles(flushCaches(oldFacade, isForceDependencyUpdate()));
+      }
       if(oldFacade != null) {
         putMavenProject(oldFacade, null); // maintain maven project cache
       }
       MavenProjectFacade newFacade = null;
-      if(pom.isAccessible() && pom.getProject().hasNature(IMavenConstants.NATURE_ID)) {
+      if(isMavenProject(pom)) {
         if(oldFacade != null) {
           // refresh old child modules
           MavenCapability mavenParentCapability = MavenCapability.createMavenParent(oldFacade.getArtifactKey());
@@ -606,11 +624,8 @@ public class ProjectRegistryManager {
     newFacade.setSessionProperty(MavenProjectFacade.PROP_LIFECYCLE_MAPPING, mappingResult.getLifecycleMapping());
     LifecycleMappingFactory.setProjectConfigurators(newFacade, mappingResult);
 
-    markerManager.deleteMarkers(newFacade.getPom(), IMavenConstants.MARKER_LIFECYCLEMAPPING_ID);
-    if(mappingResult.hasProblems()) {
-      markerManager.addErrorMarkers(newFacade.getPom(), IMavenConstants.MARKER_LIFECYCLEMAPPING_ID,
-          mappingResult.getProblems());
-    }
+    markerManager.reconcileMarkers(newFacade.getPom(), IMavenConstants.MARKER_LIFECYCLEMAPPING_ID,
+        mappingResult.getProblems());
   }
 
   private void detachMappingSources(Map<MojoExecutionKey, List<IPluginExecutionMetadata>> mapping) {
@@ -926,6 +941,10 @@ public class ProjectRegistryManager {
       }
     }
     List<MavenProjectChangedEvent> events = projectRegistry.apply(newState);
+    if(!events.isEmpty()) {
+      // cached artifact descriptors may have been read from changed workspace poms
+      maven.invalidateRepositoryCache();
+    }
     //stateReader.writeWorkspaceState(projectRegistry);
     notifyProjectChangeListeners(events, monitor);
   }
@@ -1077,10 +1096,9 @@ public class ProjectRegistryManager {
           // there is currently no good way to determine if MavenProject instance is still being used or not
           // for now assume that cache entries removed from project cache can only be referenced by context map
           final MavenProjectFacade facade = notification.getKey();
-          final MavenProject mavenProject = notification.getValue();
           final Map<MavenProjectFacade, MavenProject> contextProjects = getContextProjects();
           if(contextProjects != null && !contextProjects.containsKey(facade)) {
-            flushMavenCaches(facade.getPomFile(), facade.getArtifactKey(), mavenProject, false);
+            flushMavenCaches(Collections.singletonMap(facade.getPomFile(), facade.getArtifactKey()), false);
           }
         }
       }
@@ -1088,50 +1106,78 @@ public class ProjectRegistryManager {
     return CacheBuilder.newBuilder().maximumSize(5).removalListener(removalListener).build();
   }
 
-  private Set<IFile> flushCaches(MutableProjectRegistry newState, IFile pom, MavenProjectFacade facade,
-      boolean forceDependencyUpdate) {
-    ArtifactKey key = null;
-    MavenProject project = null;
+  private static boolean isMavenProject(IFile pom) throws CoreException {
+    return pom.isAccessible() && pom.getProject().hasNature(IMavenConstants.NATURE_ID);
+  }
+
+  private Set<IFile> flushCaches(MavenProjectFacade facade, boolean forceDependencyUpdate) {
+    if(facade == null) {
+      return Collections.emptySet();
+    }
+    return flushCaches(Collections.singleton(facade), forceDependencyUpdate);
+  }
 
-    if(facade != null) {
-      key = facade.getArtifactKey();
-      project = getMavenProject(facade); // cached only
+  /**
+   * Flushes caches of all given projects in one pass.
+   * 
+   * @return poms of other projects that need to be refreshed as a result
+   */
+  private Set<IFile> flushCaches(Collection<MavenProjectFacade> facades, boolean forceDependencyUpdate) {
+    if(facades.isEmpty()) {
+      return Collections.emptySet();
+    }
+    Map<File, ArtifactKey> projects = new LinkedHashMap<>();
+    for(MavenProjectFacade facade : facades) {
       mavenProjectCache.invalidate(facade);
-      Set<IFile> ifiles = new HashSet<>();
-      for(File file : flushMavenCaches(facade.getPomFile(), key, project, forceDependencyUpdate)) {
-        MavenProjectFacade affected = projectRegistry.getProjectFacade(file);
-        if(affected != null) {
-          ifiles.add(affected.getPom());
-        }
+      projects.put(facade.getPomFile(), facade.getArtifactKey());
+    }
+    Set<IFile> ifiles = new HashSet<>();
+    for(File file : flushMavenCaches(projects, forceDependencyUpdate)) {
+      MavenProjectFacade affected = projectRegistry.getProjectFacade(file);
+      if(affected != null) {
+        ifiles.add(affected.getPom());
       }
-      return ifiles;
     }
-
-    return Collections.emptySet();
+    return ifiles;
   }
 
   /**
    * Flushes caches maintained by Maven core.
+   * 
+   * @param projects pom files of flushed projects mapped to their artifact keys
    */
-  Set<File> flushMavenCaches(File pom, ArtifactKey key, MavenProject project, boolean force) {
+  Set<File> flushMavenCaches(Map<File, ArtifactKey> projects, boolean force) {
     Set<File> affected = new HashSet<>();
-    affected.addAll(flushMavenCache(ProjectRealmCache.class, pom, key, force));
-    affected.addAll(flushMavenCache(ExtensionRealmCache.class, pom, key, force));
-    affected.addAll(flushMavenCache(PluginRealmCache.class, pom, key, force));
-    affected.addAll(flushMavenCache(MavenMetadataCache.class, pom, key, force));
-    affected.addAll(flushMavenCache(PluginArtifactsCache.class, pom, key, force));
+    List<IManagedCache> caches = getManagedCaches();
+    for(IManagedCache cache : caches) {
+      affected.addAll(cache.removeProjects(projects, force));
+    }
+    if(log.isDebugEnabled()) {
+      for(IManagedCache cache : caches) {
+        if(cache instanceof IManagedRealmCache) {
+          IManagedRealmCache realmCache = (IManagedRealmCache) cache;
+          log.debug("{}: {} class realms, {} KB", //$NON-NLS-1$
+              cache.getClass().getSimpleName(), realmCache.getRealmCount(), realmCache.getRealmFootprint() / 1024);
+        }
+      }
+    }
     return affected;
   }
 
-  private Set<File> flushMavenCache(Class<?> clazz, File pom, ArtifactKey key, boolean force) {
+  private List<IManagedCache> getManagedCaches() {
+    List<IManagedCache> caches = new ArrayList<>();
     try {
-      IManagedCache cache = (IManagedCache) maven.getPlexusContainer().lookup(clazz);
-      return cache.removeProject(pom, key, force);
+      PlexusContainer container = maven.getPlexusContainer();
+      caches.add((IManagedCache) container.lookup(ProjectRealmCache.class));
+      caches.add((IManagedCache) container.lookup(ExtensionRealmCache.class));
+      caches.add((IManagedCache) container.lookup(PluginRealmCache.class));
+      caches.add((IManagedCache) container.lookup(MavenMetadataCache.class));
+      caches.add((IManagedCache) container.lookup(PluginArtifactsCache.class));
     } catch(ComponentLookupException ex) {
       // can't really happen
     } catch(CoreException ex) {
       // can't really happen
     }
-    return Collections.emptySet();
+    return caches;
   }
 }
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+
+
+/**
+ * Immutable snapshot of workspace artifacts with the same groupId and artifactId, sorted by parsed version. Instances
+ * are shared between project registry states.
+ *
+ * @since 1.8
+ */
+public final class WorkspaceArtifactVersions {
+
+  private static final GenericVersionScheme versionScheme = new GenericVersionScheme();
+
+  static final WorkspaceArtifactVersions EMPTY = new WorkspaceArtifactVersions(
+      Collections.<ArtifactKey, Set<IFile>> emptyMap());
+
+  private final List<Entry> entries;
+
+  private final List<String> versions;
+
+  /**
+   * @param workspaceArtifacts artifacts with the same groupId and artifactId, artifacts without pom files are ignored
+   */
+  WorkspaceArtifactVersions(Map<ArtifactKey, Set<IFile>> workspaceArtifacts) {
+    List<Entry> entries = new ArrayList<Entry>(workspaceArtifacts.size());
+    for(Map.Entry<ArtifactKey, Set<IFile>> workspaceArtifact : workspaceArtifacts.entrySet()) {
+      Set<IFile> poms = workspaceArtifact.getValue();
+      if(poms == null || poms.isEmpty()) {
+        continue;
+      }
+      ArtifactKey key = workspaceArtifact.getKey();
+      try {
+        entries.add(new Entry(key, versionScheme.parseVersion(key.getVersion()), poms));
+      } catch(InvalidVersionSpecificationException e) {
+        // this can't happen with GenericVersionScheme
+      }
+    }
+    Collections.sort(entries, new Comparator<Entry>() {
+      public int compare(Entry e1, Entry e2) {
+        return e1.version.compareTo(e2.version);
+      }
+    });
+    List<String> versions = new ArrayList<String>(entries.size());
+    for(Entry entry : entries) {
+      versions.add(entry.key.getVersion());
+    }
+    this.entries = Collections.unmodifiableList(entries);
+    this.versions = Collections.unmodifiableList(versions);
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  /**
+   * Returns pom file of the lowest artifact version that matches the constraint, or null.
+   */
+  public IFile getMatchingPom(VersionConstraint constraint) {
+    for(Entry entry : entries) {
+      if(constraint.containsVersion(entry.version)) {
+        return entry.poms.get(0);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns versions of all artifacts, lowest first.
+   */
+  public List<String> getVersions() {
+    return versions;
+  }
+
+  public Set<ArtifactKey> getArtifactKeys() {
+    Set<ArtifactKey> keys = new LinkedHashSet<ArtifactKey>();
+    for(Entry entry : entries) {
+      keys.add(entry.key);
+    }
+    return keys;
+  }
+
+  public Map<ArtifactKey, Collection<IFile>> asMap() {
+    Map<ArtifactKey, Collection<IFile>> map = new LinkedHashMap<ArtifactKey, Collection<IFile>>();
+    for(Entry entry : entries) {
+      map.put(entry.key, entry.poms);
+    }
+    return map;
+  }
+
+  private static class Entry {
+    final ArtifactKey key;
+
+    final Version version;
+
+    final List<IFile> poms;
+
+    Entry(ArtifactKey key, Version version, Set<IFile> poms) {
+      this.key = key;
+      this.version = version;
+      this.poms = Collections.unmodifiableList(new ArrayList<IFile>(poms));
+    }
+  }
+}
@@ -145,6 +145,8 @@ public class MavenJdtPlugin extends Plugin {
       projectManager.removeMavenProjectChangedListener(launchConfigurationListener);
     }
 
+    buildpathManager.dispose();
+
     DebugPlugin dplugin = DebugPlugin.getDefault();
     if(dplugin != null) {
       dplugin.getLaunchManager().removeLaunchConfigurationListener(launchConfigurationListener);
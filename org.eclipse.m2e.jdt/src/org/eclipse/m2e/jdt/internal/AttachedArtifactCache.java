@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.jdt.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.embedder.ILocalRepositoryListener;
+import org.eclipse.m2e.core.embedder.IMaven;
+
+
+/**
+ * Caches local repository lookups of sources/javadoc attachments and javadoc roots inside javadoc archives. The cache
+ * is shared by all projects. Entries are validated against file timestamps, so a single stat replaces path
+ * canonicalization and archive scans, and are dropped when new artifacts are installed to the local repository.
+ *
+ * @since 1.8
+ */
+public class AttachedArtifactCache implements ILocalRepositoryListener {
+
+  private final IMaven maven;
+
+  /**
+   * Attachment lookups, keyed by local repository basedir and base artifact GAV, then by attachment classifier
+   */
+  private final ConcurrentMap<String, Map<String, Attachment>> attachments = //
+      new ConcurrentHashMap<String, Map<String, Attachment>>();
+
+  private final Map<File, JavadocRoot> javadocRoots = new ConcurrentHashMap<File, JavadocRoot>();
+
+  public AttachedArtifactCache(IMaven maven) {
+    this.maven = maven;
+  }
+
+  /**
+   * Returns attached artifact file from the local repository, or null if the artifact is not available locally.
+   */
+  public File getAttachedArtifactFile(ArtifactKey a, String classifier) {
+    try {
+      ArtifactRepository localRepository = maven.getLocalRepository();
+      String key = getKey(localRepository.getBasedir(), a.getGroupId(), a.getArtifactId(), a.getVersion());
+      Map<String, Attachment> artifactAttachments = attachments.get(key);
+      if(artifactAttachments == null) {
+        artifactAttachments = new ConcurrentHashMap<String, Attachment>();
+        Map<String, Attachment> existing = attachments.putIfAbsent(key, artifactAttachments);
+        if(existing != null) {
+          artifactAttachments = existing;
+        }
+      }
+
+      Attachment attachment = artifactAttachments.get(classifier);
+      if(attachment == null || !attachment.isValid()) {
+        String relPath = maven.getArtifactPath(localRepository, a.getGroupId(), a.getArtifactId(), a.getVersion(),
+            "jar", classifier); //$NON-NLS-1$
+        File file = new File(localRepository.getBasedir(), relPath).getCanonicalFile();
+        attachment = new Attachment(file, file.canRead());
+        artifactAttachments.put(classifier, attachment);
+      }
+      return attachment.getFile();
+    } catch(CoreException ex) {
+      // fall through
+    } catch(IOException ex) {
+      // fall through
+    }
+    return null;
+  }
+
+  /**
+   * Returns path of the javadoc root folder inside the given javadoc archive.
+   */
+  public String getJavaDocPathInArchive(File file) {
+    JavadocRoot root = javadocRoots.get(file);
+    if(root == null || !root.isValid(file)) {
+      root = new JavadocRoot(file, findJavaDocPathInArchive(file));
+      javadocRoots.put(file, root);
+    }
+    return root.path;
+  }
+
+  public void artifactInstalled(File repositoryBasedir, ArtifactKey baseArtifact, ArtifactKey artifact,
+      File artifactFile) {
+    if(baseArtifact != null) {
+      attachments.remove(getKey(repositoryBasedir.getAbsolutePath(), baseArtifact.getGroupId(),
+          baseArtifact.getArtifactId(), baseArtifact.getVersion()));
+    }
+    if(artifact != null) {
+      attachments.remove(getKey(repositoryBasedir.getAbsolutePath(), artifact.getGroupId(), artifact.getArtifactId(),
+          artifact.getVersion()));
+    }
+    if(artifactFile != null) {
+      javadocRoots.remove(artifactFile);
+    }
+  }
+
+  public void clear() {
+    attachments.clear();
+    javadocRoots.clear();
+  }
+
+  private static String getKey(String basedir, String groupId, String artifactId, String version) {
+    return new File(basedir).getAbsolutePath() + '|' + groupId + ':' + artifactId + ':' + version;
+  }
+
+  static String findJavaDocPathInArchive(File file) {
+    ZipFile jarFile = null;
+    try {
+      jarFile = new ZipFile(file);
+      String marker = "package-list"; //$NON-NLS-1$
+      for(Enumeration<? extends ZipEntry> en = jarFile.entries(); en.hasMoreElements();) {
+        ZipEntry entry = en.nextElement();
+        String entryName = entry.getName();
+        if(entryName.endsWith(marker)) {
+          return entry.getName().substring(0, entryName.length() - marker.length());
+        }
+      }
+    } catch(IOException ex) {
+      // ignore
+    } finally {
+      try {
+        if(jarFile != null)
+          jarFile.close();
+      } catch(IOException ex) {
+        //
+      }
+    }
+
+    return ""; //$NON-NLS-1$
+  }
+
+  /**
+   * Result of a local repository lookup. Available attachments are stamped with the file timestamp, missing ones with
+   * the timestamp of the directory they would be downloaded to.
+   */
+  private static class Attachment {
+    private final File file;
+
+    private final boolean available;
+
+    private final long stamp;
+
+    Attachment(File file, boolean available) {
+      this.file = file;
+      this.available = available;
+      this.stamp = getStamp();
+    }
+
+    File getFile() {
+      return available ? file : null;
+    }
+
+    boolean isValid() {
+      return stamp == getStamp();
+    }
+
+    private long getStamp() {
+      File stamped = available ? file : file.getParentFile();
+      return stamped != null ? stamped.lastModified() : 0;
+    }
+  }
+
+  private static class JavadocRoot {
+    final String path;
+
+    private final long lastModified;
+
+    private final long length;
+
+    JavadocRoot(File file, String path) {
+      this.path = path;
+      this.lastModified = file.lastModified();
+      this.length = file.length();
+    }
+
+    boolean isValid(File file) {
+      return lastModified == file.lastModified() && length == file.length();
+    }
+  }
+}
@@ -23,17 +23,22 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
@@ -69,8 +74,10 @@ import org.apache.maven.project.MavenProject;
 
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.embedder.ICallable;
 import org.eclipse.m2e.core.embedder.IMaven;
 import org.eclipse.m2e.core.embedder.IMavenConfiguration;
+import org.eclipse.m2e.core.embedder.IMavenExecutionContext;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.index.IndexManager;
 import org.eclipse.m2e.core.internal.index.IndexedArtifactFile;
@@ -116,6 +123,14 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
 
   public static final ArtifactFilter SCOPE_FILTER_TEST = new ScopeArtifactFilter(Artifact.SCOPE_TEST);
 
+  /**
+   * Number of threads used to compute classpath containers of changed projects, {@code 1} by default. Worker threads
+   * do not hold the workspace scheduling rule of the caller, which waits for them. With more than one thread, all
+   * {@link IClasspathManagerDelegate}s and classpath configurators must be thread safe and must not run workspace
+   * operations, or they deadlock.
+   */
+  private static final int CLASSPATH_THREADS = Integer.getInteger("org.eclipse.m2e.jdt.classpath.threads", 1); //$NON-NLS-1$
+
   final IMavenProjectRegistry projectManager;
 
   final IMavenConfiguration mavenConfiguration;
@@ -132,6 +147,10 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
 
   private final DefaultClasspathManagerDelegate defaultDelegate;
 
+  private final MavenClasspathContainerStore containerStore;
+
+  private final AttachedArtifactCache attachedArtifactCache;
+
   public BuildPathManager(IMavenProjectRegistry projectManager, IndexManager indexManager, BundleContext bundleContext,
       File stateLocationDir) {
     this.projectManager = projectManager;
@@ -143,6 +162,14 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
     this.downloadSourcesJob = new DownloadSourcesJob(this);
     downloadSourcesJob.setPriority(SOURCE_DOWNLOAD_PRIORITY);
     this.defaultDelegate = new DefaultClasspathManagerDelegate();
+    this.containerStore = new MavenClasspathContainerStore(stateLocationDir);
+    this.attachedArtifactCache = new AttachedArtifactCache(maven);
+    maven.addLocalRepositoryListener(attachedArtifactCache);
+  }
+
+  public void dispose() {
+    maven.removeLocalRepositoryListener(attachedArtifactCache);
+    attachedArtifactCache.clear();
   }
 
   public static IClasspathEntry getMavenContainerEntry(IJavaProject javaProject) {
@@ -173,29 +200,171 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
   }
 
   public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
-    Set<IProject> projects = new HashSet<IProject>();
+    Set<IProject> projects = new LinkedHashSet<IProject>();
     monitor.setTaskName(Messages.BuildPathManager_monitor_setting_cp);
     for(int i = 0; i < events.length; i++ ) {
       MavenProjectChangedEvent event = events[i];
       IFile pom = event.getSource();
       IProject project = pom.getProject();
-      if(project.isAccessible() && projects.add(project)) {
-        updateClasspath(project, monitor);
+      if(project.isAccessible()) {
+        projects.add(project);
       }
     }
+    updateClasspath(projects, monitor);
+  }
+
+  /**
+   * Updates classpath containers of all given projects, applying changed containers to JDT in one batch.
+   */
+  void updateClasspath(Set<IProject> projects, IProgressMonitor monitor) {
+    List<IJavaProject> javaProjects = new ArrayList<IJavaProject>();
+    List<IClasspathContainer> containers = new ArrayList<IClasspathContainer>();
+    if(projects.size() > 1 && CLASSPATH_THREADS > 1) {
+      computeContainersInParallel(projects, javaProjects, containers, monitor);
+    } else {
+      for(IProject project : projects) {
+        IJavaProject javaProject = JavaCore.create(project);
+        if(javaProject != null) {
+          try {
+            IClasspathContainer container = getChangedContainer(javaProject, monitor);
+            if(container != null) {
+              javaProjects.add(javaProject);
+              containers.add(container);
+            }
+          } catch(CoreException ex) {
+            log.error(ex.getMessage(), ex);
+          }
+        }
+      }
+    }
+    setClasspathContainers(javaProjects, containers, monitor);
+  }
+
+  /**
+   * Computes changed classpath containers of the given projects on a pool of worker threads. Results are collected in
+   * project order so the subsequent JDT update is deterministic.
+   */
+  private void computeContainersInParallel(Set<IProject> projects, List<IJavaProject> javaProjects,
+      List<IClasspathContainer> containers, IProgressMonitor monitor) {
+    int threads = Math.min(CLASSPATH_THREADS, projects.size());
+    ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger();
+
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "m2e classpath computation " + count.incrementAndGet()); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    try {
+      Map<IJavaProject, Future<IClasspathContainer>> results = //
+          new LinkedHashMap<IJavaProject, Future<IClasspathContainer>>();
+      IMavenExecutionContext context = maven.getExecutionContext();
+      for(IProject project : projects) {
+        final IJavaProject javaProject = JavaCore.create(project);
+        if(javaProject != null) {
+          // workers share repository caches of the current maven session, if any
+          final IMavenExecutionContext workerContext = context != null ? context.fork() : null;
+          results.put(javaProject, executor.submit(new Callable<IClasspathContainer>() {
+            public IClasspathContainer call() throws CoreException {
+              // progress monitors are not thread safe
+              if(workerContext == null) {
+                return getChangedContainer(javaProject, new NullProgressMonitor());
+              }
+              return workerContext.execute(new ICallable<IClasspathContainer>() {
+                public IClasspathContainer call(IMavenExecutionContext context, IProgressMonitor monitor)
+                    throws CoreException {
+                  return getChangedContainer(javaProject, monitor);
+                }
+              }, new NullProgressMonitor());
+            }
+          }));
+        }
+      }
+      for(Map.Entry<IJavaProject, Future<IClasspathContainer>> result : results.entrySet()) {
+        if(monitor.isCanceled()) {
+          break;
+        }
+        try {
+          IClasspathContainer container = result.getValue().get();
+          if(container != null) {
+            javaProjects.add(result.getKey());
+            containers.add(container);
+          }
+        } catch(ExecutionException ex) {
+          log.error(ex.getCause().getMessage(), ex.getCause());
+        } catch(InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
   }
 
   public void updateClasspath(IProject project, IProgressMonitor monitor) {
     IJavaProject javaProject = JavaCore.create(project);
     if(javaProject != null) {
       try {
-        IClasspathEntry containerEntry = getMavenContainerEntry(javaProject);
-        IPath path = containerEntry != null ? containerEntry.getPath() : new Path(CONTAINER_ID);
-        IClasspathEntry[] classpath = getClasspath(project, monitor);
-        IClasspathContainer container = new MavenClasspathContainer(path, classpath);
-        JavaCore.setClasspathContainer(container.getPath(), new IJavaProject[] {javaProject},
-            new IClasspathContainer[] {container}, monitor);
-        saveContainerState(project, container);
+        IClasspathContainer container = getChangedContainer(javaProject, monitor);
+        if(container != null) {
+          setClasspathContainers(Collections.singletonList(javaProject), Collections.singletonList(container),
+              monitor);
+        }
+      } catch(CoreException ex) {
+        log.error(ex.getMessage(), ex);
+      }
+    }
+  }
+
+  /**
+   * Computes Maven classpath container of the project. Returns null if the project already has a container with the
+   * same classpath entries.
+   */
+  private IClasspathContainer getChangedContainer(IJavaProject javaProject, IProgressMonitor monitor)
+      throws CoreException {
+    IClasspathEntry containerEntry = getMavenContainerEntry(javaProject);
+    IPath path = containerEntry != null ? containerEntry.getPath() : new Path(CONTAINER_ID);
+    IClasspathEntry[] classpath = getClasspath(javaProject.getProject(), monitor);
+    if(containerEntry != null) {
+      IClasspathContainer current = JavaCore.getClasspathContainer(path, javaProject);
+      if(current != null && MavenClasspathHelpers.isSameClasspath(current.getClasspathEntries(), classpath)) {
+        return null;
+      }
+    }
+    return new MavenClasspathContainer(path, classpath);
+  }
+
+  /**
+   * Applies new containers to JDT in as few calls as possible and persists their state. JDT requires all containers
+   * of a single call to share the same container path, so projects are grouped by path.
+   */
+  private void setClasspathContainers(List<IJavaProject> javaProjects, List<IClasspathContainer> containers,
+      IProgressMonitor monitor) {
+    Map<IPath, List<Integer>> groups = new LinkedHashMap<IPath, List<Integer>>();
+    for(int i = 0; i < containers.size(); i++ ) {
+      IPath path = containers.get(i).getPath();
+      List<Integer> group = groups.get(path);
+      if(group == null) {
+        group = new ArrayList<Integer>();
+        groups.put(path, group);
+      }
+      group.add(i);
+    }
+    for(Map.Entry<IPath, List<Integer>> group : groups.entrySet()) {
+      List<Integer> indexes = group.getValue();
+      IJavaProject[] projects = new IJavaProject[indexes.size()];
+      IClasspathContainer[] respectiveContainers = new IClasspathContainer[indexes.size()];
+      for(int i = 0; i < projects.length; i++ ) {
+        projects[i] = javaProjects.get(indexes.get(i));
+        respectiveContainers[i] = containers.get(indexes.get(i));
+      }
+      try {
+        JavaCore.setClasspathContainer(group.getKey(), projects, respectiveContainers, monitor);
+        for(int i = 0; i < projects.length; i++ ) {
+          saveContainerState(projects[i].getProject(), respectiveContainers[i]);
+        }
       } catch(CoreException ex) {
         log.error(ex.getMessage(), ex);
       }
@@ -203,48 +372,19 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
   }
 
   private void saveContainerState(IProject project, IClasspathContainer container) {
-    File containerStateFile = getContainerStateFile(project);
-    FileOutputStream is = null;
     try {
-      is = new FileOutputStream(containerStateFile);
-      new MavenClasspathContainerSaveHelper().writeContainer(container, is);
+      containerStore.save(project.getName(), container);
     } catch(IOException ex) {
       log.error("Can't save classpath container state for " + project.getName(), ex); //$NON-NLS-1$
-    } finally {
-      if(is != null) {
-        try {
-          is.close();
-        } catch(IOException ex) {
-          log.error("Can't close output stream for " + containerStateFile.getAbsolutePath(), ex); //$NON-NLS-1$
-        }
-      }
     }
   }
 
   public IClasspathContainer getSavedContainer(IProject project) throws CoreException {
-    File containerStateFile = getContainerStateFile(project);
-    if(!containerStateFile.exists()) {
-      return null;
-    }
-
-    FileInputStream is = null;
     try {
-      is = new FileInputStream(containerStateFile);
-      return new MavenClasspathContainerSaveHelper().readContainer(is);
+      return containerStore.load(project.getName());
     } catch(IOException ex) {
       throw new CoreException(new Status(IStatus.ERROR, MavenJdtPlugin.PLUGIN_ID, -1, //
           "Can't read classpath container state for " + project.getName(), ex));
-    } catch(ClassNotFoundException ex) {
-      throw new CoreException(new Status(IStatus.ERROR, MavenJdtPlugin.PLUGIN_ID, -1, //
-          "Can't read classpath container state for " + project.getName(), ex));
-    } finally {
-      if(is != null) {
-        try {
-          is.close();
-        } catch(IOException ex) {
-          log.error("Can't close output stream for " + containerStateFile.getAbsolutePath(), ex); //$NON-NLS-1$
-        }
-      }
     }
   }
 
@@ -326,11 +466,6 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
     }
   }
 
-  private boolean isUnavailable(ArtifactKey a, List<ArtifactRepository> repositories) throws CoreException {
-    return maven.isUnavailable(a.getGroupId(), a.getArtifactId(), a.getVersion(), "jar" /*type*/, a.getClassifier(), //$NON-NLS-1$
-        repositories);
-  }
-
 //  public void downloadSources(IProject project, ArtifactKey artifact, boolean downloadSources, boolean downloadJavaDoc) throws CoreException {
 //    List<ArtifactRepository> repositories = null;
 //    IMavenProjectFacade facade = projectManager.getProject(project);
@@ -573,7 +708,7 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
 
   /** public for unit tests only */
   public File getContainerStateFile(IProject project) {
-    return new File(stateLocationDir, project.getName() + ".container"); //$NON-NLS-1$
+    return containerStore.getContainerStateFile(project.getName());
   }
 
   public void resourceChanged(IResourceChangeEvent event) {
@@ -586,10 +721,7 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
       }
 
       // remove classpath container state
-      File containerState = getContainerStateFile((IProject) event.getResource());
-      if(containerState.exists() && !containerState.delete()) {
-        log.error("Can't delete " + containerState.getAbsolutePath()); //$NON-NLS-1$
-      }
+      containerStore.remove(event.getResource().getName());
     }
   }
 
@@ -652,33 +784,17 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
    */
   private File getAttachedArtifactFile(ArtifactKey a, String classifier) {
     // can't use Maven resolve methods since they mark artifacts as not-found even if they could be resolved remotely  
-    try {
-      ArtifactRepository localRepository = maven.getLocalRepository();
-      String relPath = maven.getArtifactPath(localRepository, a.getGroupId(), a.getArtifactId(), a.getVersion(), "jar", //$NON-NLS-1$
-          classifier);
-      File file = new File(localRepository.getBasedir(), relPath).getCanonicalFile();
-      if(file.canRead()) {
-        return file;
-      }
-    } catch(CoreException ex) {
-      // fall through
-    } catch(IOException ex) {
-      // fall through
-    }
-    return null;
+    return attachedArtifactCache.getAttachedArtifactFile(a, classifier);
   }
 
   private String getJavaDocUrl(ArtifactKey base) {
     File file = getAttachedArtifactFile(base, CLASSIFIER_JAVADOC);
 
-    return getJavaDocUrl(file);
-  }
-
-  static String getJavaDocUrl(File file) {
     try {
       if(file != null) {
         URL fileUrl = file.toURL();
-        return "jar:" + fileUrl.toExternalForm() + "!/" + getJavaDocPathInArchive(file); //$NON-NLS-1$ //$NON-NLS-2$
+        String pathInArchive = attachedArtifactCache.getJavaDocPathInArchive(file);
+        return "jar:" + fileUrl.toExternalForm() + "!/" + pathInArchive; //$NON-NLS-1$ //$NON-NLS-2$
       }
     } catch(MalformedURLException ex) {
       // fall through
@@ -687,30 +803,18 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
     return null;
   }
 
-  private static String getJavaDocPathInArchive(File file) {
-    ZipFile jarFile = null;
+  static String getJavaDocUrl(File file) {
     try {
-      jarFile = new ZipFile(file);
-      String marker = "package-list"; //$NON-NLS-1$
-      for(Enumeration<? extends ZipEntry> en = jarFile.entries(); en.hasMoreElements();) {
-        ZipEntry entry = en.nextElement();
-        String entryName = entry.getName();
-        if(entryName.endsWith(marker)) {
-          return entry.getName().substring(0, entryName.length() - marker.length());
-        }
-      }
-    } catch(IOException ex) {
-      // ignore
-    } finally {
-      try {
-        if(jarFile != null)
-          jarFile.close();
-      } catch(IOException ex) {
-        //
+      if(file != null) {
+        URL fileUrl = file.toURL();
+        String pathInArchive = AttachedArtifactCache.findJavaDocPathInArchive(file);
+        return "jar:" + fileUrl.toExternalForm() + "!/" + pathInArchive; //$NON-NLS-1$ //$NON-NLS-2$
       }
+    } catch(MalformedURLException ex) {
+      // fall through
     }
 
-    return ""; //$NON-NLS-1$
+    return null;
   }
 
   /**
@@ -792,9 +896,12 @@ public class BuildPathManager implements IMavenProjectChangedListener, IResource
     ArtifactKey javadocArtifact = new ArtifactKey(a.getGroupId(), a.getArtifactId(), a.getVersion(),
         CLASSIFIER_JAVADOC);
 
-    if(repositories != null) {
-      downloadSources = downloadSources && !isUnavailable(sourcesArtifact, repositories);
-      downloadJavaDoc = downloadJavaDoc && !isUnavailable(javadocArtifact, repositories);
+    if(repositories != null && (downloadSources || downloadJavaDoc)) {
+      // both attachments share the same m2e-lastUpdated.properties file
+      BitSet unavailable = maven.getUnavailable(Arrays.asList(sourcesArtifact, javadocArtifact), "jar", //$NON-NLS-1$
+          repositories);
+      downloadSources = downloadSources && !unavailable.get(0);
+      downloadJavaDoc = downloadJavaDoc && !unavailable.get(1);
     }
 
     ArtifactKey[] result = new ArtifactKey[2];
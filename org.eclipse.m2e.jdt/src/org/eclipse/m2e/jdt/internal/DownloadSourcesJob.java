@@ -13,11 +13,22 @@ package org.eclipse.m2e.jdt.internal;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +39,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
@@ -60,6 +72,19 @@ class DownloadSourcesJob extends Job implements IBackgroundProcessingQueue {
 
   private static final long SCHEDULE_INTERVAL = 1000L;
 
+  /**
+   * Minimal interval between classpath updates while downloads are in progress
+   */
+  private static final long UPDATE_INTERVAL = 2000L;
+
+  private static final long CANCEL_CHECK_INTERVAL = 200L;
+
+  /**
+   * Number of concurrent artifact downloads
+   */
+  private static final int DOWNLOAD_THREADS = Integer.getInteger("org.eclipse.m2e.jdt.download.threads", //$NON-NLS-1$
+      4);
+
   private static class DownloadRequest {
     final IProject project;
 
@@ -106,6 +131,88 @@ class DownloadSourcesJob extends Job implements IBackgroundProcessingQueue {
     }
   }
 
+  /**
+   * Sources and/or javadoc download of a single artifact, shared by all projects and package fragment roots that
+   * requested it.
+   */
+  private class AttachmentDownload {
+    final ArtifactKey artifact;
+
+    ArtifactKey sources;
+
+    ArtifactKey javadoc;
+
+    final List<ArtifactRepository> repositories = new ArrayList<ArtifactRepository>();
+
+    final Set<IProject> projects = new LinkedHashSet<IProject>();
+
+    final Set<IPackageFragmentRoot> fragments = new LinkedHashSet<IPackageFragmentRoot>();
+
+    final File[] files = new File[2];
+
+    AttachmentDownload(ArtifactKey artifact) {
+      this.artifact = artifact;
+    }
+
+    void add(ArtifactKey[] attached, List<ArtifactRepository> repositories, IProject project,
+        IPackageFragmentRoot fragment) {
+      if(attached[0] != null) {
+        sources = attached[0];
+      }
+      if(attached[1] != null) {
+        javadoc = attached[1];
+      }
+      for(ArtifactRepository repository : repositories) {
+        if(!containsRepository(repository)) {
+          this.repositories.add(repository);
+        }
+      }
+      if(project != null) {
+        projects.add(project);
+      }
+      if(fragment != null) {
+        fragments.add(fragment);
+      }
+    }
+
+    private boolean containsRepository(ArtifactRepository repository) {
+      for(ArtifactRepository existing : repositories) {
+        if(existing.getId().equals(repository.getId()) && existing.getUrl().equals(repository.getUrl())) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Sources and javadoc are downloaded one after the other because both update the same m2e-lastUpdated.properties
+     * file in the local repository.
+     */
+    void run(IProgressMonitor monitor) {
+      if(sources != null) {
+        try {
+          files[0] = download(sources, repositories, monitor);
+          log.info("Downloaded sources for " + artifact.toString());
+        } catch(CoreException e) {
+          log.error("Could not download sources for " + artifact.toString(), e); //$NON-NLS-1$
+        }
+      }
+
+      if(javadoc != null) {
+        try {
+          files[1] = download(javadoc, repositories, monitor);
+          log.info("Downloaded javadoc for " + artifact.toString());
+        } catch(CoreException e) {
+          log.error("Could not download javadoc for " + artifact.toString(), e); //$NON-NLS-1$
+        }
+      }
+    }
+
+    boolean isDownloaded() {
+      return files[0] != null || files[1] != null;
+    }
+  }
+
   private final IMaven maven;
 
   private final BuildPathManager manager;
@@ -145,60 +252,49 @@ class DownloadSourcesJob extends Job implements IBackgroundProcessingQueue {
   IStatus run(ArrayList<DownloadRequest> downloadRequests, IProgressMonitor monitor) {
     SubMonitor subMonitor = SubMonitor.convert(monitor, 3 * downloadRequests.size() + 5);
     final ArrayList<IStatus> exceptions = new ArrayList<IStatus>();
-    final Set<IProject> mavenProjects = new LinkedHashSet<IProject>();
-    final Map<IPackageFragmentRoot, File[]> nonMavenProjects = new LinkedHashMap<IPackageFragmentRoot, File[]>();
+
+    // the same artifact is typically requested by many projects, download each one only once
+    final Map<ArtifactKey, AttachmentDownload> downloads = new LinkedHashMap<ArtifactKey, AttachmentDownload>();
 
     for(DownloadRequest request : downloadRequests) {
-      SubMonitor requestMonitor = subMonitor.split(3);
+      SubMonitor requestMonitor = subMonitor.split(1);
+      checkCanceled(requestMonitor);
       try {
         if(request.artifact != null) {
           requestMonitor.setTaskName(getName() + ": " + request.artifact.getArtifactId());
         } else if(request.project != null) {
           requestMonitor.setTaskName(getName() + ": " + request.project.getName());
         }
-        IMavenProjectFacade projectFacade = projectManager.create(request.project, requestMonitor.split(1));
+        IMavenProjectFacade projectFacade = projectManager.create(request.project, requestMonitor);
         if(projectFacade != null) {
-          downloadMaven(projectFacade, request.artifact, request.downloadSources, request.downloadJavaDoc,
-              requestMonitor.split(2));
-          mavenProjects.add(request.project);
+          MavenProject mavenProject = projectFacade.getMavenProject(requestMonitor);
+          List<ArtifactRepository> repositories = mavenProject.getRemoteArtifactRepositories();
+          if(request.artifact != null) {
+            addDownload(downloads, request.artifact, repositories, request.downloadSources, request.downloadJavaDoc,
+                request.project, null);
+          } else {
+            for(Artifact a : mavenProject.getArtifacts()) {
+              ArtifactKey aKey = new ArtifactKey(a.getGroupId(), a.getArtifactId(), a.getBaseVersion(),
+                  a.getClassifier());
+              addDownload(downloads, aKey, repositories, request.downloadSources, request.downloadJavaDoc,
+                  request.project, null);
+            }
+          }
         } else if(request.artifact != null) {
-          List<ArtifactRepository> repositories = maven.getArtifactRepositories();
-          File[] files = downloadAttachments(request.artifact, repositories, request.downloadSources,
-              request.downloadJavaDoc, requestMonitor.split(2));
           if(request.fragment == null) {
             log.warn(
                 "IPackageFragmentRoot is missing, skipping javadoc/source attachment for project " + request.project);
-          } else {
-            nonMavenProjects.put(request.fragment, files);
           }
+          List<ArtifactRepository> repositories = maven.getArtifactRepositories();
+          addDownload(downloads, request.artifact, repositories, request.downloadSources, request.downloadJavaDoc,
+              null, request.fragment);
         }
       } catch(CoreException ex) {
         exceptions.add(ex.getStatus());
       }
-      requestMonitor.done();
     }
 
-    // consider update classpath after each individual download?
-    // pro: user gets sources progressively (then faster)
-    // con: more save operations
-    SubMonitor updateMonitor = SubMonitor.convert(subMonitor.split(5),
-        1 + mavenProjects.size() + nonMavenProjects.size());
-    if(!mavenProjects.isEmpty() || !nonMavenProjects.isEmpty()) {
-      ISchedulingRule schedulingRule = ResourcesPlugin.getWorkspace().getRuleFactory().buildRule();
-      getJobManager().beginRule(schedulingRule, updateMonitor.split(1));
-      try {
-        for(IProject mavenProject : mavenProjects) {
-          manager.updateClasspath(mavenProject, updateMonitor.split(1));
-        }
-
-        for(Map.Entry<IPackageFragmentRoot, File[]> entry : nonMavenProjects.entrySet()) {
-          File[] files = entry.getValue();
-          manager.attachSourcesAndJavadoc(entry.getKey(), files[0], files[1], updateMonitor.split(1));
-        }
-      } finally {
-        getJobManager().endRule(schedulingRule);
-      }
-    }
+    download(downloads.values(), subMonitor.split(2 * downloadRequests.size() + 5));
 
     if(!exceptions.isEmpty()) {
       IStatus[] problems = exceptions.toArray(new IStatus[exceptions.size()]);
@@ -208,58 +304,146 @@ class DownloadSourcesJob extends Job implements IBackgroundProcessingQueue {
     return Status.OK_STATUS;
   }
 
-  private void downloadMaven(IMavenProjectFacade projectFacade, ArtifactKey artifact, boolean downloadSources,
-      boolean downloadJavadoc, IProgressMonitor monitor) throws CoreException {
-    MavenProject mavenProject = projectFacade.getMavenProject(monitor);
-    List<ArtifactRepository> repositories = mavenProject.getRemoteArtifactRepositories();
-
-    if(artifact != null) {
-      downloadAttachments(artifact, repositories, downloadSources, downloadJavadoc, monitor);
-    } else {
-      for(Artifact a : mavenProject.getArtifacts()) {
-        ArtifactKey aKey = new ArtifactKey(a.getGroupId(), a.getArtifactId(), a.getBaseVersion(), a.getClassifier());
-        downloadAttachments(aKey, repositories, downloadSources, downloadJavadoc, monitor);
-      }
+  private void addDownload(Map<ArtifactKey, AttachmentDownload> downloads, ArtifactKey artifact,
+      List<ArtifactRepository> repositories, boolean downloadSources, boolean downloadJavadoc, IProject project,
+      IPackageFragmentRoot fragment) throws CoreException {
+    ArtifactKey[] attached = manager.getAttachedSourcesAndJavadoc(artifact, repositories, downloadSources,
+        downloadJavadoc);
+    if(attached[0] == null && attached[1] == null) {
+      return;
     }
+    AttachmentDownload download = downloads.get(artifact);
+    if(download == null) {
+      download = new AttachmentDownload(artifact);
+      downloads.put(artifact, download);
+    }
+    download.add(attached, repositories, project, fragment);
   }
 
-  private File[] downloadAttachments(ArtifactKey artifact, List<ArtifactRepository> repositories,
-      boolean downloadSources, boolean downloadJavadoc, IProgressMonitor monitor) throws CoreException {
-    if(monitor != null && monitor.isCanceled()) {
-      String message = "Downloading of sources/javadocs was canceled"; //$NON-NLS-1$
-      log.debug(message);
-      synchronized(queue) {
-        queue.clear();
-      }
-      throw new OperationCanceledException(message);
+  /**
+   * Downloads attachments on a bounded pool of worker threads. Classpath of affected projects is updated progressively
+   * as downloads finish, at most once per {@link #UPDATE_INTERVAL}, so users get sources without waiting for the
+   * whole queue.
+   */
+  private void download(Collection<AttachmentDownload> downloads, IProgressMonitor monitor) {
+    SubMonitor subMonitor = SubMonitor.convert(monitor, downloads.size() + 1);
+    if(downloads.isEmpty()) {
+      return;
     }
-    ArtifactKey[] attached = manager.getAttachedSourcesAndJavadoc(artifact, repositories, downloadSources,
-        downloadJavadoc);
 
-    File[] files = new File[2];
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(DOWNLOAD_THREADS, downloads.size()),
+        new ThreadFactory() {
+          private final AtomicInteger count = new AtomicInteger();
 
-    if(attached[0] != null) {
-      try {
-        files[0] = download(attached[0], repositories, monitor);
-        log.info("Downloaded sources for " + artifact.toString());
-      } catch(CoreException e) {
-        log.error("Could not download sources for " + artifact.toString(), e); //$NON-NLS-1$
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "m2e sources/javadoc download " + count.incrementAndGet()); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    try {
+      CompletionService<AttachmentDownload> completionService = new ExecutorCompletionService<AttachmentDownload>(
+          executor);
+      IMavenExecutionContext context = maven.getExecutionContext();
+      for(final AttachmentDownload download : downloads) {
+        // workers share repository caches of this job's maven session
+        final IMavenExecutionContext workerContext = context.fork();
+        completionService.submit(new Callable<AttachmentDownload>() {
+          public AttachmentDownload call() throws CoreException {
+            return workerContext.execute(new ICallable<AttachmentDownload>() {
+              public AttachmentDownload call(IMavenExecutionContext context, IProgressMonitor monitor) {
+                download.run(monitor);
+                return download;
+              }
+            }, new NullProgressMonitor()); // progress monitors are not thread safe
+          }
+        });
+      }
+
+      Set<IProject> mavenProjects = new LinkedHashSet<IProject>();
+      Map<IPackageFragmentRoot, File[]> nonMavenProjects = new LinkedHashMap<IPackageFragmentRoot, File[]>();
+      long lastUpdate = System.currentTimeMillis();
+      int remaining = downloads.size();
+      while(remaining > 0) {
+        checkCanceled(subMonitor);
+        Future<AttachmentDownload> done;
+        try {
+          done = completionService.poll(CANCEL_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        } catch(InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          throw new OperationCanceledException();
+        }
+        if(done != null) {
+          remaining-- ;
+          subMonitor.worked(1);
+          AttachmentDownload download = getDone(done);
+          if(download != null && download.isDownloaded()) {
+            mavenProjects.addAll(download.projects);
+            for(IPackageFragmentRoot fragment : download.fragments) {
+              nonMavenProjects.put(fragment, download.files);
+            }
+          }
+        }
+        long now = System.currentTimeMillis();
+        if(remaining == 0 || now - lastUpdate >= UPDATE_INTERVAL) {
+          updateClasspath(mavenProjects, nonMavenProjects, remaining == 0 ? subMonitor.split(1)
+              : subMonitor.newChild(0));
+          mavenProjects.clear();
+          nonMavenProjects.clear();
+          lastUpdate = now;
+        }
       }
+    } finally {
+      executor.shutdownNow();
     }
+  }
 
-    if(attached[1] != null) {
-      try {
-        files[1] = download(attached[1], repositories, monitor);
-        log.info("Downloaded javadoc for " + artifact.toString());
-      } catch(CoreException e) {
-        log.error("Could not download sources for " + artifact.toString(), e); //$NON-NLS-1$
+  private AttachmentDownload getDone(Future<AttachmentDownload> done) {
+    try {
+      return done.get();
+    } catch(InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new OperationCanceledException();
+    } catch(ExecutionException ex) {
+      log.error("Could not download sources or javadoc", ex.getCause()); //$NON-NLS-1$
+      return null;
+    }
+  }
+
+  private void updateClasspath(Set<IProject> mavenProjects, Map<IPackageFragmentRoot, File[]> nonMavenProjects,
+      IProgressMonitor monitor) {
+    if(mavenProjects.isEmpty() && nonMavenProjects.isEmpty()) {
+      return;
+    }
+    SubMonitor updateMonitor = SubMonitor.convert(monitor, 2 + nonMavenProjects.size());
+    ISchedulingRule schedulingRule = ResourcesPlugin.getWorkspace().getRuleFactory().buildRule();
+    getJobManager().beginRule(schedulingRule, updateMonitor.split(1));
+    try {
+      if(!mavenProjects.isEmpty()) {
+        manager.updateClasspath(mavenProjects, updateMonitor.split(1));
+      }
+
+      for(Map.Entry<IPackageFragmentRoot, File[]> entry : nonMavenProjects.entrySet()) {
+        File[] files = entry.getValue();
+        manager.attachSourcesAndJavadoc(entry.getKey(), files[0], files[1], updateMonitor.split(1));
       }
+    } finally {
+      getJobManager().endRule(schedulingRule);
     }
+  }
 
-    return files;
+  private void checkCanceled(IProgressMonitor monitor) {
+    if(monitor != null && monitor.isCanceled()) {
+      String message = "Downloading of sources/javadocs was canceled"; //$NON-NLS-1$
+      log.debug(message);
+      synchronized(queue) {
+        queue.clear();
+      }
+      throw new OperationCanceledException(message);
+    }
   }
 
-  private File download(ArtifactKey artifact, List<ArtifactRepository> repositories, IProgressMonitor monitor)
+  File download(ArtifactKey artifact, List<ArtifactRepository> repositories, IProgressMonitor monitor)
       throws CoreException {
     Artifact resolved = maven.resolve(artifact.getGroupId(), //
         artifact.getArtifactId(), //
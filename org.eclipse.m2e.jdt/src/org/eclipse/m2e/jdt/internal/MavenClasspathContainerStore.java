@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.jdt.internal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathContainer;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.JavaCore;
+
+
+/**
+ * Persistent store of Maven classpath container state. Containers are written in a compact binary format where all
+ * paths, attribute names and values are interned in a per-file string table. A container file is only rewritten when
+ * its content hash changes and all containers are loaded in bulk the first time any of them is requested. Files
+ * written by {@link MavenClasspathContainerSaveHelper} in the old serialized format are still read.
+ *
+ * @since 1.8
+ */
+public class MavenClasspathContainerStore {
+  private static final Logger log = LoggerFactory.getLogger(MavenClasspathContainerStore.class);
+
+  static final String CONTAINER_SUFFIX = ".container"; //$NON-NLS-1$
+
+  private static final int MAGIC = 0x4D32434E; // "M2CN"
+
+  private static final int FORMAT_VERSION = 1;
+
+  private static final int NULL_INDEX = -1;
+
+  private static final byte KIND_LIBRARY = 1;
+
+  private static final byte KIND_PROJECT = 2;
+
+  private final File stateLocationDir;
+
+  /**
+   * Containers loaded in bulk and not yet handed out, keyed by project name.
+   */
+  private final Map<String, IClasspathContainer> loaded = new HashMap<String, IClasspathContainer>();
+
+  /**
+   * Content hashes of container files currently on disk, keyed by project name.
+   */
+  private final Map<String, byte[]> digests = new HashMap<String, byte[]>();
+
+  private boolean initialized;
+
+  public MavenClasspathContainerStore(File stateLocationDir) {
+    this.stateLocationDir = stateLocationDir;
+  }
+
+  public File getContainerStateFile(String projectName) {
+    return new File(stateLocationDir, projectName + CONTAINER_SUFFIX);
+  }
+
+  /**
+   * Returns saved container of the given project, or null if none was saved.
+   */
+  public synchronized IClasspathContainer load(String projectName) throws IOException {
+    initialize();
+    IClasspathContainer container = loaded.remove(projectName);
+    if(container != null) {
+      return container;
+    }
+    // either the file was created after bulk load or it was already handed out once
+    File file = getContainerStateFile(projectName);
+    if(!file.exists()) {
+      return null;
+    }
+    return readFile(projectName, file);
+  }
+
+  /**
+   * Saves container state of the given project. Returns true if the container file was (re)written, false if its
+   * content did not change.
+   */
+  public synchronized boolean save(String projectName, IClasspathContainer container) throws IOException {
+    initialize();
+    loaded.remove(projectName);
+
+    byte[] bytes = write(container);
+    byte[] digest = digest(bytes);
+    if(Arrays.equals(digest, digests.get(projectName)) && getContainerStateFile(projectName).exists()) {
+      return false;
+    }
+
+    File file = getContainerStateFile(projectName);
+    OutputStream os = new FileOutputStream(file);
+    try {
+      os.write(bytes);
+    } finally {
+      os.close();
+    }
+    digests.put(projectName, digest);
+    return true;
+  }
+
+  public synchronized void remove(String projectName) {
+    loaded.remove(projectName);
+    digests.remove(projectName);
+    File file = getContainerStateFile(projectName);
+    if(file.exists() && !file.delete()) {
+      log.error("Can't delete " + file.getAbsolutePath()); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Reads all container files of the state location in one pass.
+   */
+  private void initialize() {
+    if(initialized) {
+      return;
+    }
+    initialized = true;
+
+    File[] files = stateLocationDir.listFiles(new FilenameFilter() {
+      public boolean accept(File dir, String name) {
+        return name.endsWith(CONTAINER_SUFFIX);
+      }
+    });
+    if(files == null) {
+      return;
+    }
+    long start = System.currentTimeMillis();
+    for(File file : files) {
+      String name = file.getName();
+      String projectName = name.substring(0, name.length() - CONTAINER_SUFFIX.length());
+      try {
+        IClasspathContainer container = readFile(projectName, file);
+        if(container != null) {
+          loaded.put(projectName, container);
+        }
+      } catch(IOException ex) {
+        log.error("Can't read classpath container state for " + projectName, ex); //$NON-NLS-1$
+      }
+    }
+    log.debug("Loaded {} classpath containers in {} ms", loaded.size(), System.currentTimeMillis() - start); //$NON-NLS-1$
+  }
+
+  private IClasspathContainer readFile(String projectName, File file) throws IOException {
+    byte[] bytes = readFully(file);
+    if(isBinaryFormat(bytes)) {
+      digests.put(projectName, digest(bytes));
+      return read(bytes);
+    }
+
+    // legacy java serialization format, will be rewritten on next save
+    digests.remove(projectName);
+    try {
+      return new MavenClasspathContainerSaveHelper().readContainer(new ByteArrayInputStream(bytes));
+    } catch(ClassNotFoundException ex) {
+      throw new IOException(ex.getMessage(), ex);
+    }
+  }
+
+  private static byte[] readFully(File file) throws IOException {
+    InputStream is = new BufferedInputStream(new FileInputStream(file));
+    try {
+      ByteArrayOutputStream buf = new ByteArrayOutputStream((int) file.length());
+      byte[] chunk = new byte[8192];
+      int n;
+      while((n = is.read(chunk)) != -1) {
+        buf.write(chunk, 0, n);
+      }
+      return buf.toByteArray();
+    } finally {
+      is.close();
+    }
+  }
+
+  private static boolean isBinaryFormat(byte[] bytes) {
+    return bytes.length >= 4
+        && ((bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF)) == MAGIC;
+  }
+
+  private static byte[] digest(byte[] bytes) {
+    try {
+      return MessageDigest.getInstance("SHA-1").digest(bytes); //$NON-NLS-1$
+    } catch(NoSuchAlgorithmException ex) {
+      // every java platform is required to support SHA-1
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  static byte[] write(IClasspathContainer container) throws IOException {
+    StringTable strings = new StringTable();
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(body);
+
+    IClasspathEntry[] entries = container.getClasspathEntries();
+    out.writeInt(strings.index(container.getPath()));
+    out.writeInt(entries.length);
+    for(IClasspathEntry entry : entries) {
+      if(entry.getEntryKind() == IClasspathEntry.CPE_PROJECT) {
+        out.writeByte(KIND_PROJECT);
+        out.writeInt(strings.index(entry.getPath()));
+        out.writeBoolean(entry.combineAccessRules());
+      } else if(entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+        out.writeByte(KIND_LIBRARY);
+        out.writeInt(strings.index(entry.getPath()));
+        out.writeInt(strings.index(entry.getSourceAttachmentPath()));
+        out.writeInt(strings.index(entry.getSourceAttachmentRootPath()));
+      } else {
+        throw new IOException("Unsupported classpath entry kind " + entry.getEntryKind()); //$NON-NLS-1$
+      }
+      out.writeBoolean(entry.isExported());
+
+      IAccessRule[] accessRules = entry.getAccessRules();
+      out.writeInt(accessRules.length);
+      for(IAccessRule rule : accessRules) {
+        out.writeInt(strings.index(rule.getPattern()));
+        out.writeInt(rule.getKind());
+      }
+
+      IClasspathAttribute[] attributes = entry.getExtraAttributes();
+      out.writeInt(attributes.length);
+      for(IClasspathAttribute attribute : attributes) {
+        out.writeInt(strings.index(attribute.getName()));
+        out.writeInt(strings.index(attribute.getValue()));
+      }
+    }
+    out.flush();
+
+    ByteArrayOutputStream result = new ByteArrayOutputStream(body.size() + strings.size() * 32);
+    DataOutputStream header = new DataOutputStream(result);
+    header.writeInt(MAGIC);
+    header.writeInt(FORMAT_VERSION);
+    header.writeInt(strings.size());
+    for(String string : strings.values()) {
+      header.writeUTF(string);
+    }
+    header.flush();
+    body.writeTo(result);
+    return result.toByteArray();
+  }
+
+  static IClasspathContainer read(byte[] bytes) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    if(in.readInt() != MAGIC) {
+      throw new IOException("Not a classpath container state file"); //$NON-NLS-1$
+    }
+    int version = in.readInt();
+    if(version != FORMAT_VERSION) {
+      throw new IOException("Unsupported classpath container state format " + version); //$NON-NLS-1$
+    }
+
+    String[] strings = new String[in.readInt()];
+    for(int i = 0; i < strings.length; i++ ) {
+      strings[i] = in.readUTF();
+    }
+    // paths are shared among entries, i.e. the same source attachment folder
+    Map<Integer, IPath> paths = new HashMap<Integer, IPath>();
+
+    IPath containerPath = path(strings, paths, in.readInt());
+    IClasspathEntry[] entries = new IClasspathEntry[in.readInt()];
+    for(int i = 0; i < entries.length; i++ ) {
+      byte kind = in.readByte();
+      IPath path = path(strings, paths, in.readInt());
+      IPath sourceAttachmentPath = null;
+      IPath sourceAttachmentRootPath = null;
+      boolean combineAccessRules = false;
+      if(kind == KIND_PROJECT) {
+        combineAccessRules = in.readBoolean();
+      } else if(kind == KIND_LIBRARY) {
+        sourceAttachmentPath = path(strings, paths, in.readInt());
+        sourceAttachmentRootPath = path(strings, paths, in.readInt());
+      } else {
+        throw new IOException("Unsupported classpath entry kind " + kind); //$NON-NLS-1$
+      }
+      boolean exported = in.readBoolean();
+
+      IAccessRule[] accessRules = new IAccessRule[in.readInt()];
+      for(int j = 0; j < accessRules.length; j++ ) {
+        IPath pattern = path(strings, paths, in.readInt());
+        accessRules[j] = JavaCore.newAccessRule(pattern, in.readInt());
+      }
+
+      IClasspathAttribute[] attributes = new IClasspathAttribute[in.readInt()];
+      for(int j = 0; j < attributes.length; j++ ) {
+        String name = string(strings, in.readInt());
+        attributes[j] = JavaCore.newClasspathAttribute(name, string(strings, in.readInt()));
+      }
+
+      if(kind == KIND_PROJECT) {
+        entries[i] = JavaCore.newProjectEntry(path, accessRules, combineAccessRules, attributes, exported);
+      } else {
+        entries[i] = JavaCore.newLibraryEntry(path, sourceAttachmentPath, sourceAttachmentRootPath, accessRules,
+            attributes, exported);
+      }
+    }
+
+    return new MavenClasspathContainer(containerPath, entries);
+  }
+
+  private static String string(String[] strings, int index) {
+    return index == NULL_INDEX ? null : strings[index];
+  }
+
+  private static IPath path(String[] strings, Map<Integer, IPath> paths, int index) {
+    if(index == NULL_INDEX) {
+      return null;
+    }
+    IPath path = paths.get(index);
+    if(path == null) {
+      path = Path.fromPortableString(strings[index]);
+      paths.put(index, path);
+    }
+    return path;
+  }
+
+  /**
+   * Assigns stable indexes to distinct strings in order of appearance.
+   */
+  private static class StringTable {
+    private final Map<String, Integer> indexes = new LinkedHashMap<String, Integer>();
+
+    int index(IPath path) {
+      return path != null ? index(path.toPortableString()) : NULL_INDEX;
+    }
+
+    int index(String string) {
+      if(string == null) {
+        return NULL_INDEX;
+      }
+      Integer index = indexes.get(string);
+      if(index == null) {
+        index = indexes.size();
+        indexes.put(string, index);
+      }
+      return index;
+    }
+
+    int size() {
+      return indexes.size();
+    }
+
+    List<String> values() {
+      return new ArrayList<String>(indexes.keySet());
+    }
+  }
+}
@@ -11,8 +11,12 @@
 
 package org.eclipse.m2e.jdt.internal;
 
+import java.util.Objects;
+
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.IClasspathAttribute;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.JavaCore;
 
@@ -33,4 +37,58 @@ public class MavenClasspathHelpers {
   public static IClasspathEntry getDefaultContainerEntry(boolean isExported) {
     return JavaCore.newContainerEntry(new Path(IClasspathManager.CONTAINER_ID), isExported);
   }
+
+  /**
+   * Returns true if both classpaths consist of the same entries in the same order. Entries are compared by kind, path,
+   * source attachment, exported flag, access rules and extra attributes.
+   */
+  public static boolean isSameClasspath(IClasspathEntry[] a, IClasspathEntry[] b) {
+    if(a == b) {
+      return true;
+    }
+    if(a == null || b == null || a.length != b.length) {
+      return false;
+    }
+    for(int i = 0; i < a.length; i++ ) {
+      if(!isSameEntry(a[i], b[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSameEntry(IClasspathEntry a, IClasspathEntry b) {
+    return a.getEntryKind() == b.getEntryKind() //
+        && a.isExported() == b.isExported() //
+        && a.combineAccessRules() == b.combineAccessRules() //
+        && Objects.equals(a.getPath(), b.getPath()) //
+        && Objects.equals(a.getSourceAttachmentPath(), b.getSourceAttachmentPath()) //
+        && Objects.equals(a.getSourceAttachmentRootPath(), b.getSourceAttachmentRootPath()) //
+        && isSameAccessRules(a.getAccessRules(), b.getAccessRules()) //
+        && isSameAttributes(a.getExtraAttributes(), b.getExtraAttributes());
+  }
+
+  private static boolean isSameAccessRules(IAccessRule[] a, IAccessRule[] b) {
+    if(a.length != b.length) {
+      return false;
+    }
+    for(int i = 0; i < a.length; i++ ) {
+      if(a[i].getKind() != b[i].getKind() || !Objects.equals(a[i].getPattern(), b[i].getPattern())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSameAttributes(IClasspathAttribute[] a, IClasspathAttribute[] b) {
+    if(a.length != b.length) {
+      return false;
+    }
+    for(int i = 0; i < a.length; i++ ) {
+      if(!Objects.equals(a[i].getName(), b[i].getName()) || !Objects.equals(a[i].getValue(), b[i].getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
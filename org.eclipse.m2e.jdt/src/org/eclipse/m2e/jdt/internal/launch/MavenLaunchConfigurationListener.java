@@ -61,6 +61,7 @@ public class MavenLaunchConfigurationListener implements ILaunchConfigurationLis
 
   public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
     for(MavenProjectChangedEvent event : events) {
+      MavenRuntimeClasspathProvider.flushCache(event.getSource().getProject());
       try {
         switch(event.getKind()) {
           case MavenProjectChangedEvent.KIND_ADDED:
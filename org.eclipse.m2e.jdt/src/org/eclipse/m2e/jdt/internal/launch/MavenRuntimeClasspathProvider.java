@@ -13,6 +13,7 @@ package org.eclipse.m2e.jdt.internal.launch;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -83,6 +84,12 @@ public class MavenRuntimeClasspathProvider extends StandardClasspathProvider {
     supportedTypes.add(MavenRuntimeClasspathProvider.JDT_TESTNG_TEST);
   }
 
+  private static final RuntimeClasspathCache<IClasspathEntry> mavenClasspathCache = //
+      new RuntimeClasspathCache<IClasspathEntry>();
+
+  private static final RuntimeClasspathCache<ProjectEntry> projectEntriesCache = //
+      new RuntimeClasspathCache<ProjectEntry>();
+
   IMavenProjectRegistry projectManager = MavenPlugin.getMavenProjectRegistry();
 
   public IRuntimeClasspathEntry[] computeUnresolvedClasspath(final ILaunchConfiguration configuration)
@@ -150,9 +157,20 @@ public class MavenRuntimeClasspathProvider extends StandardClasspathProvider {
       IRuntimeClasspathEntry runtimeClasspathEntry, ILaunchConfiguration configuration, int scope,
       IProgressMonitor monitor) throws CoreException {
     IJavaProject javaProject = JavaRuntime.getJavaProject(configuration);
-    MavenJdtPlugin plugin = MavenJdtPlugin.getDefault();
-    IClasspathManager buildpathManager = plugin.getBuildpathManager();
-    IClasspathEntry[] cp = buildpathManager.getClasspath(javaProject.getProject(), scope, false, monitor);
+    IProject project = javaProject.getProject();
+    IMavenProjectFacade facade = projectManager.create(project, monitor);
+    // maven classpath container instance is replaced when the container is updated
+    List<IClasspathContainer> generation = Collections.singletonList(JavaCore.getClasspathContainer(
+        runtimeClasspathEntry.getPath(), javaProject));
+    List<IClasspathEntry> cp = mavenClasspathCache.get(project, scope, null, facade, generation);
+    if(cp == null) {
+      MavenJdtPlugin plugin = MavenJdtPlugin.getDefault();
+      IClasspathManager buildpathManager = plugin.getBuildpathManager();
+      cp = Arrays.asList(buildpathManager.getClasspath(project, scope, false, monitor));
+      if(facade != null) {
+        mavenClasspathCache.put(project, scope, null, facade, generation, cp);
+      }
+    }
     for(IClasspathEntry entry : cp) {
       switch(entry.getEntryKind()) {
         case IClasspathEntry.CPE_PROJECT:
@@ -221,6 +239,30 @@ public class MavenRuntimeClasspathProvider extends StandardClasspathProvider {
 
     IJavaProject javaProject = JavaCore.create(project);
 
+    // resolved classpath changes whenever the raw classpath, classpath containers or variables change
+    List<IClasspathEntry> generation = Arrays.asList(javaProject.getResolvedClasspath(true));
+    List<ProjectEntry> entries = projectEntriesCache.get(project, scope, classifier, projectFacade, generation);
+    if(entries == null) {
+      entries = getProjectEntries(javaProject, projectFacade, scope, classifier, monitor);
+      projectEntriesCache.put(project, scope, classifier, projectFacade, generation, entries);
+    }
+    for(ProjectEntry entry : entries) {
+      if(entry.resolve) {
+        addStandardClasspathEntries(resolved, entry.entry, launchConfiguration);
+      } else {
+        resolved.add(entry.entry);
+      }
+    }
+  }
+
+  /**
+   * Returns launch classpath entries of the project. Entries that depend on the launch configuration or on state of
+   * other projects are returned unresolved, to be resolved for each launch.
+   */
+  private List<ProjectEntry> getProjectEntries(IJavaProject javaProject, IMavenProjectFacade projectFacade, int scope,
+      String classifier, IProgressMonitor monitor) throws CoreException {
+    IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+    List<ProjectEntry> entries = new ArrayList<ProjectEntry>();
     boolean projectResolved = false;
 
     for(IClasspathEntry entry : javaProject.getRawClasspath()) {
@@ -233,10 +275,14 @@ public class MavenRuntimeClasspathProvider extends StandardClasspathProvider {
             IClassifierClasspathProvider classifierClasspathProvider = mavenClassifierManager
                 .getClassifierClasspathProvider(projectFacade, classifier);
 
+            Set<IRuntimeClasspathEntry> projectEntries = new LinkedHashSet<IRuntimeClasspathEntry>();
             if(IClasspathManager.CLASSPATH_TEST == scope) {
-              classifierClasspathProvider.setTestClasspath(resolved, projectFacade, monitor);
+              classifierClasspathProvider.setTestClasspath(projectEntries, projectFacade, monitor);
             } else {
-              classifierClasspathProvider.setRuntimeClasspath(resolved, projectFacade, monitor);
+              classifierClasspathProvider.setRuntimeClasspath(projectEntries, projectFacade, monitor);
+            }
+            for(IRuntimeClasspathEntry projectEntry : projectEntries) {
+              entries.add(new ProjectEntry(projectEntry, false));
             }
 
             projectResolved = true;
@@ -280,9 +326,33 @@ public class MavenRuntimeClasspathProvider extends StandardClasspathProvider {
           break;
       }
       if(rce != null) {
-        addStandardClasspathEntries(resolved, rce, launchConfiguration);
+        entries.add(new ProjectEntry(rce, true));
       }
     }
+    return entries;
+  }
+
+  /**
+   * Cached launch classpath entry of a project. Entries marked for resolution are resolved against the launch
+   * configuration on each launch.
+   */
+  private static class ProjectEntry {
+    final IRuntimeClasspathEntry entry;
+
+    final boolean resolve;
+
+    ProjectEntry(IRuntimeClasspathEntry entry, boolean resolve) {
+      this.entry = entry;
+      this.resolve = resolve;
+    }
+  }
+
+  /**
+   * Flushes cached launch classpath of the project.
+   */
+  static void flushCache(IProject project) {
+    mavenClasspathCache.flush(project);
+    projectEntriesCache.flush(project);
   }
 
   public static boolean isSupportedType(String id) {
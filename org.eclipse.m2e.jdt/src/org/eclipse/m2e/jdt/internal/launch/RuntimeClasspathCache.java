@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.jdt.internal.launch;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+
+
+/**
+ * Resolved launch classpath entries of workspace projects, keyed by project, scope and classifier. Entries are only
+ * returned while the project facade is the same instance and the classpath generation, i.e. JDT classpath state the
+ * entries were resolved from, is equal. Entries of a project are flushed when the project changes.
+ *
+ * @since 1.8
+ */
+class RuntimeClasspathCache<T> {
+
+  private final ConcurrentMap<String, CacheEntry<T>> cache = new ConcurrentHashMap<String, CacheEntry<T>>();
+
+  private static class CacheEntry<T> {
+    final IMavenProjectFacade facade;
+
+    final Object generation;
+
+    final List<T> entries;
+
+    CacheEntry(IMavenProjectFacade facade, Object generation, List<T> entries) {
+      this.facade = facade;
+      this.generation = generation;
+      this.entries = entries;
+    }
+  }
+
+  public List<T> get(IProject project, int scope, String classifier, IMavenProjectFacade facade, Object generation) {
+    CacheEntry<T> entry = cache.get(getKey(project, scope, classifier));
+    if(entry != null && entry.facade == facade && entry.generation.equals(generation)) {
+      return entry.entries;
+    }
+    return null;
+  }
+
+  public void put(IProject project, int scope, String classifier, IMavenProjectFacade facade, Object generation,
+      List<T> entries) {
+    cache.put(getKey(project, scope, classifier), new CacheEntry<T>(facade, generation, entries));
+  }
+
+  public void flush(IProject project) {
+    String prefix = project.getName() + '/';
+    Iterator<String> keys = cache.keySet().iterator();
+    while(keys.hasNext()) {
+      if(keys.next().startsWith(prefix)) {
+        keys.remove();
+      }
+    }
+  }
+
+  public void flush() {
+    cache.clear();
+  }
+
+  private static String getKey(IProject project, int scope, String classifier) {
+    // project names can not contain '/'
+    return project.getName() + '/' + scope + '/' + classifier;
+  }
+}
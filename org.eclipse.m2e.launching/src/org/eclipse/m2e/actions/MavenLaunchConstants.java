@@ -73,4 +73,19 @@ public interface MavenLaunchConstants {
   public final String ATTR_DISABLED_EXTENSIONS = "M2_DISABLED_EXTENSIONS";
 
   public final String ATTR_THREADS = "M2_THREADS"; //$NON-NLS-1$
+
+  /**
+   * Run the launch in a warm, reusable maven JVM instead of starting new JVM.
+   * 
+   * @since 1.8
+   */
+  public final String ATTR_DAEMON = "M2_DAEMON"; //$NON-NLS-1$
+
+  /**
+   * Split the reactor into groups of modules that do not depend on each other and build the groups concurrently, each
+   * by a separate maven build with its own console.
+   * 
+   * @since 1.8
+   */
+  public final String ATTR_PARALLEL_MODULES = "M2_PARALLEL_MODULES"; //$NON-NLS-1$
 }
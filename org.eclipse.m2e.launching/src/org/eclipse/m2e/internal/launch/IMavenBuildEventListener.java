@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import org.eclipse.debug.core.ILaunch;
+
+
+/**
+ * Receives build events of launched maven builds.
+ *
+ * @see MavenBuildEventReceiver#addListener(IMavenBuildEventListener)
+ * @noimplement This is an experimental interface and can be changed or removed without notice.
+ * @since 1.8
+ */
+public interface IMavenBuildEventListener {
+
+  /**
+   * Called from a background thread for each event of the launched build, in the order events were sent.
+   */
+  public void buildEvent(ILaunch launch, MavenBuildEvent event);
+
+  /**
+   * Called when the launched build finished and no more events will be sent.
+   */
+  public void buildFinished(ILaunch launch);
+}
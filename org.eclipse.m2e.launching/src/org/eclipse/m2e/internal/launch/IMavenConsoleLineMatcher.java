@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import java.util.List;
+
+
+/**
+ * Recognizes hyperlinks in maven launch console output.
+ * <p>
+ * Matchers are called from a background thread for every line written to the console, so they should scan the line
+ * once and should not allocate anything unless they find a match.
+ *
+ * @see IMavenLaunchParticipant#getConsoleLineMatchers(org.eclipse.debug.core.ILaunchConfiguration,
+ *      org.eclipse.debug.core.ILaunch)
+ * <p>
+ * Clients may implement this interface to contribute matchers from their launch participants.
+ *
+ * @provisional This interface is provisional and can be changed or removed without notice.
+ * @since 1.8
+ */
+public interface IMavenConsoleLineMatcher {
+
+  /**
+   * Matches console line {@code text[start, end)}, line delimiter not included, and adds found hyperlinks to
+   * {@code links}. Link offsets are indexes in {@code text}.
+   */
+  public void match(CharSequence text, int start, int end, List<MavenConsoleLink> links);
+}
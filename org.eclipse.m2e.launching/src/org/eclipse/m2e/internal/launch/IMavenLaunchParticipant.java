@@ -41,4 +41,14 @@ public interface IMavenLaunchParticipant {
    */
   public List<ISourceLookupParticipant> getSourceLookupParticipants(ILaunchConfiguration configuration, ILaunch launch,
       IProgressMonitor monitor);
+
+  /**
+   * Returns additional console hyperlink matchers or <code>null</code>
+   * 
+   * @since 1.8
+   */
+  public default List<IMavenConsoleLineMatcher> getConsoleLineMatchers(ILaunchConfiguration configuration,
+      ILaunch launch) {
+    return null;
+  }
 }
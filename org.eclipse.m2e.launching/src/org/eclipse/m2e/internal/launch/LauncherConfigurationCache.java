@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import static org.eclipse.m2e.actions.MavenLaunchConstants.PLUGIN_ID;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.m2e.core.internal.launch.AbstractMavenRuntime;
+import org.eclipse.m2e.core.internal.launch.ClasspathEntry;
+import org.eclipse.m2e.core.internal.launch.ProjectClasspathEntry;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+
+
+/**
+ * Caches classworlds launcher configurations of maven runtimes, so repeated launches do not resolve runtime artifacts
+ * and write new configuration files. Configuration files are content-addressed and shared by all launches that use
+ * the same configuration. The cache is cleared when workspace maven projects change, runtimes are identified by their
+ * name, location, version, extensions and modification time of the runtime lib directory.
+ *
+ * @since 1.8
+ */
+@SuppressWarnings("restriction")
+public class LauncherConfigurationCache implements IMavenProjectChangedListener {
+  private static final Logger log = LoggerFactory.getLogger(LauncherConfigurationCache.class);
+
+  private static final String PREFIX = "m2conf-"; //$NON-NLS-1$
+
+  private static final String SUFFIX = ".conf"; //$NON-NLS-1$
+
+  private final File dir;
+
+  private final Map<String, LauncherConfiguration> cache = new HashMap<String, LauncherConfiguration>();
+
+  public static class LauncherConfiguration {
+    final MavenLauncherConfigurationHandler handler;
+
+    final File file;
+
+    LauncherConfiguration(MavenLauncherConfigurationHandler handler, File file) {
+      this.handler = handler;
+      this.file = file;
+    }
+  }
+
+  public LauncherConfigurationCache(File dir) {
+    this.dir = dir;
+    // configuration files left from previous sessions
+    File[] files = dir.listFiles();
+    if(files != null) {
+      for(File file : files) {
+        if(file.getName().startsWith(PREFIX) && file.getName().endsWith(SUFFIX)) {
+          file.delete();
+        }
+      }
+    }
+  }
+
+  public LauncherConfiguration get(AbstractMavenRuntime runtime, boolean injectWorkspaceResolver,
+      IProgressMonitor monitor) throws CoreException {
+    String key = getKey(runtime, injectWorkspaceResolver);
+    synchronized(cache) {
+      LauncherConfiguration configuration = cache.get(key);
+      if(configuration != null && configuration.file.isFile()) {
+        return configuration;
+      }
+    }
+
+    MavenLauncherConfigurationHandler cwconf = new MavenLauncherConfigurationHandler();
+    runtime.createLauncherConfiguration(cwconf, monitor);
+    if(injectWorkspaceResolver) {
+      for(String entry : MavenLaunchUtils.getCliResolver(runtime)) {
+        cwconf.forceArchiveEntry(entry);
+      }
+    }
+    for(String entry : MavenLaunchUtils.getBuildEventSpy(runtime)) {
+      cwconf.forceArchiveEntry(entry);
+    }
+
+    File file;
+    try {
+      ByteArrayOutputStream buf = new ByteArrayOutputStream();
+      cwconf.save(buf);
+      byte[] bytes = buf.toByteArray();
+      file = new File(dir, PREFIX + Hashing.sha1().hashBytes(bytes).toString() + SUFFIX);
+      if(!file.isFile()) {
+        dir.mkdirs();
+        File tmp = File.createTempFile(PREFIX, ".tmp", dir); //$NON-NLS-1$
+        Files.write(bytes, tmp);
+        if(!tmp.renameTo(file)) {
+          // another launch wrote the same configuration concurrently
+          tmp.delete();
+        }
+      }
+    } catch(IOException e) {
+      throw new CoreException(new Status(IStatus.ERROR, PLUGIN_ID, -1,
+          Messages.MavenLaunchDelegate_error_cannot_create_conf, e));
+    }
+
+    LauncherConfiguration configuration = new LauncherConfiguration(cwconf, file);
+    synchronized(cache) {
+      cache.put(key, configuration);
+    }
+    return configuration;
+  }
+
+  private static String getKey(AbstractMavenRuntime runtime, boolean injectWorkspaceResolver) {
+    StringBuilder key = new StringBuilder();
+    key.append(runtime.getClass().getName());
+    key.append('|').append(runtime.getName());
+    key.append('|').append(runtime.getLocation());
+    key.append('|').append(runtime.getVersion());
+    key.append('|').append(new File(runtime.getLocation(), "lib").lastModified()); //$NON-NLS-1$
+    if(runtime.getExtensions() != null) {
+      for(ClasspathEntry entry : runtime.getExtensions()) {
+        key.append('|').append(entry instanceof ProjectClasspathEntry ? ((ProjectClasspathEntry) entry).getProject()
+            : entry.getClass().getName());
+      }
+    }
+    key.append('|').append(injectWorkspaceResolver);
+    return key.toString();
+  }
+
+  public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
+    // workspace runtimes and runtime extensions are resolved from workspace projects
+    synchronized(cache) {
+      if(!cache.isEmpty()) {
+        log.debug("Maven projects changed, flushing {} cached launcher configurations", cache.size()); //$NON-NLS-1$
+        cache.clear();
+      }
+    }
+  }
+}
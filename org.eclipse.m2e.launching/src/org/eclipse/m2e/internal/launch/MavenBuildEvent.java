@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Build event reported by {@link MavenBuildEventSpy}. Also used inside launched maven runtime, must not depend on
+ * anything but JRE.
+ *
+ * @since 1.8
+ */
+public class MavenBuildEvent {
+
+  /**
+   * Project build started, detail is project basedir.
+   */
+  public static final String PROJECT_STARTED = "projectStarted"; //$NON-NLS-1$
+
+  /**
+   * Project build finished, detail is project basedir, has status and duration.
+   */
+  public static final String PROJECT_FINISHED = "projectFinished"; //$NON-NLS-1$
+
+  /**
+   * Mojo execution started, detail is {@code groupId:artifactId:version:goal (executionId)}.
+   */
+  public static final String MOJO_STARTED = "mojoStarted"; //$NON-NLS-1$
+
+  /**
+   * Mojo execution finished, detail is {@code groupId:artifactId:version:goal (executionId)}, has status and duration.
+   */
+  public static final String MOJO_FINISHED = "mojoFinished"; //$NON-NLS-1$
+
+  /**
+   * Test suite was run, detail is the suite name, has duration and test counts.
+   */
+  public static final String TEST_SUITE = "testSuite"; //$NON-NLS-1$
+
+  /**
+   * Project artifact was produced, detail is the artifact file.
+   */
+  public static final String ARTIFACT = "artifact"; //$NON-NLS-1$
+
+  /**
+   * Project build wrote to the directory, detail is the directory.
+   */
+  public static final String OUTPUT = "output"; //$NON-NLS-1$
+
+  public static final String STATUS_SUCCESS = "SUCCESS"; //$NON-NLS-1$
+
+  public static final String STATUS_FAILURE = "FAILURE"; //$NON-NLS-1$
+
+  public static final String STATUS_SKIPPED = "SKIPPED"; //$NON-NLS-1$
+
+  private final String type;
+
+  private final String project;
+
+  private final String detail;
+
+  private final String status;
+
+  private final long duration;
+
+  private final int tests;
+
+  private final int failures;
+
+  private final int errors;
+
+  private final int skipped;
+
+  private MavenBuildEvent(String[] fields) {
+    this.type = fields[0];
+    this.project = fields[1];
+    this.detail = fields[2];
+    this.status = fields[3].isEmpty() ? null : fields[3];
+    this.duration = Long.parseLong(fields[4]);
+    this.tests = Integer.parseInt(fields[5]);
+    this.failures = Integer.parseInt(fields[6]);
+    this.errors = Integer.parseInt(fields[7]);
+    this.skipped = Integer.parseInt(fields[8]);
+  }
+
+  /**
+   * Parses event line written by {@link MavenBuildEventSpy}, returns {@code null} if the line is malformed.
+   */
+  public static MavenBuildEvent parse(String line) {
+    List<String> fields = new ArrayList<String>(9);
+    StringBuilder field = new StringBuilder();
+    for(int i = 0; i < line.length(); i++ ) {
+      char c = line.charAt(i);
+      if(c == '\t') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if(c == '\\' && i + 1 < line.length()) {
+        c = line.charAt(++i);
+        field.append(c == 't' ? '\t' : c == 'n' ? '\n' : c == 'r' ? '\r' : c);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    if(fields.size() != 9) {
+      return null;
+    }
+    try {
+      return new MavenBuildEvent(fields.toArray(new String[fields.size()]));
+    } catch(NumberFormatException ex) {
+      return null;
+    }
+  }
+
+  static String escape(String value) {
+    StringBuilder sb = new StringBuilder(value.length());
+    for(int i = 0; i < value.length(); i++ ) {
+      char c = value.charAt(i);
+      switch(c) {
+        case '\\':
+          sb.append("\\\\"); //$NON-NLS-1$
+          break;
+        case '\t':
+          sb.append("\\t"); //$NON-NLS-1$
+          break;
+        case '\n':
+          sb.append("\\n"); //$NON-NLS-1$
+          break;
+        case '\r':
+          sb.append("\\r"); //$NON-NLS-1$
+          break;
+        default:
+          sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Project {@code groupId:artifactId:version}.
+   */
+  public String getProject() {
+    return project;
+  }
+
+  public String getDetail() {
+    return detail;
+  }
+
+  /**
+   * One of {@link #STATUS_SUCCESS}, {@link #STATUS_FAILURE}, {@link #STATUS_SKIPPED} or {@code null}.
+   */
+  public String getStatus() {
+    return status;
+  }
+
+  /**
+   * Duration in milliseconds.
+   */
+  public long getDuration() {
+    return duration;
+  }
+
+  public int getTests() {
+    return tests;
+  }
+
+  public int getFailures() {
+    return failures;
+  }
+
+  public int getErrors() {
+    return errors;
+  }
+
+  public int getSkipped() {
+    return skipped;
+  }
+
+  public String toString() {
+    return type + " " + project + " " + detail; //$NON-NLS-1$ //$NON-NLS-2$
+  }
+}
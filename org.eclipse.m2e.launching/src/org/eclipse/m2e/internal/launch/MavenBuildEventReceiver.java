@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.model.IProcess;
+
+import org.eclipse.m2e.internal.launch.MavenRuntimeLaunchSupport.VMArguments;
+
+
+/**
+ * Receives build events sent by {@link MavenBuildEventSpy} from a launched maven build. Collects directories written
+ * and artifacts produced by the build, logs mojo execution times when the build finishes and forwards all events to
+ * registered {@link IMavenBuildEventListener}s.
+ *
+ * @since 1.8
+ */
+public class MavenBuildEventReceiver implements IDebugEventSetListener {
+  private static final Logger log = LoggerFactory.getLogger(MavenBuildEventReceiver.class);
+
+  /**
+   * How long to wait for the launched build to connect.
+   */
+  private static final int CONNECT_TIMEOUT = 10 * 60 * 1000;
+
+  /**
+   * Number of slowest mojo executions logged when the build finishes.
+   */
+  private static final int LOGGED_MOJOS = 20;
+
+  private static final List<IMavenBuildEventListener> listeners = new CopyOnWriteArrayList<IMavenBuildEventListener>();
+
+  private static final Map<ILaunch, MavenBuildEventReceiver> receivers = //
+      new HashMap<ILaunch, MavenBuildEventReceiver>();
+
+  private final ILaunch launch;
+
+  private final ServerSocket server;
+
+  private final String token = UUID.randomUUID().toString();
+
+  private final CountDownLatch finished = new CountDownLatch(1);
+
+  private final Set<File> outputDirectories = Collections.synchronizedSet(new LinkedHashSet<File>());
+
+  private final Set<File> artifacts = Collections.synchronizedSet(new LinkedHashSet<File>());
+
+  private final Set<File> projectDirectories = Collections.synchronizedSet(new LinkedHashSet<File>());
+
+  private final List<MavenBuildEvent> mojoExecutions = new ArrayList<MavenBuildEvent>();
+
+  private volatile boolean connected;
+
+  private MavenBuildEventReceiver(ILaunch launch) throws IOException {
+    this.launch = launch;
+    this.server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    server.setSoTimeout(CONNECT_TIMEOUT);
+  }
+
+  /**
+   * Starts listening for build events of the launch.
+   */
+  public static MavenBuildEventReceiver start(ILaunch launch) throws IOException {
+    final MavenBuildEventReceiver receiver = new MavenBuildEventReceiver(launch);
+    synchronized(receivers) {
+      receivers.put(launch, receiver);
+    }
+    DebugPlugin.getDefault().addDebugEventListener(receiver);
+    Thread thread = new Thread("Maven build events") { //$NON-NLS-1$
+      public void run() {
+        receiver.receive();
+      }
+    };
+    thread.setDaemon(true);
+    thread.start();
+    return receiver;
+  }
+
+  /**
+   * Returns build event receiver of the launch or {@code null} if the launched build does not report events or has
+   * finished and the receiver was disposed.
+   */
+  public static MavenBuildEventReceiver get(ILaunch launch) {
+    synchronized(receivers) {
+      return receivers.get(launch);
+    }
+  }
+
+  public static void addListener(IMavenBuildEventListener listener) {
+    listeners.add(listener);
+  }
+
+  public static void removeListener(IMavenBuildEventListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Tells the launched build where to send events.
+   */
+  public void appendVMArguments(VMArguments arguments) {
+    arguments.appendProperty(MavenBuildEventSpy.PROPERTY_PORT, Integer.toString(server.getLocalPort()));
+    arguments.appendProperty(MavenBuildEventSpy.PROPERTY_TOKEN, token);
+  }
+
+  void receive() {
+    try {
+      Socket socket;
+      try {
+        socket = server.accept();
+      } catch(SocketTimeoutException ex) {
+        log.debug("Launched build did not connect"); //$NON-NLS-1$
+        return;
+      }
+      try {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        if(!token.equals(in.readLine())) {
+          return;
+        }
+        connected = true;
+        String line;
+        while((line = in.readLine()) != null) {
+          MavenBuildEvent event = MavenBuildEvent.parse(line);
+          if(event != null) {
+            processEvent(event);
+          }
+        }
+      } finally {
+        socket.close();
+      }
+      logMojoExecutions();
+    } catch(IOException ex) {
+      // the build exited or the launch was terminated
+    } finally {
+      dispose();
+      for(IMavenBuildEventListener listener : listeners) {
+        try {
+          listener.buildFinished(launch);
+        } catch(Exception ex) {
+          log.error(ex.getMessage(), ex);
+        }
+      }
+    }
+  }
+
+  private void processEvent(MavenBuildEvent event) {
+    if(MavenBuildEvent.OUTPUT.equals(event.getType())) {
+      outputDirectories.add(new File(event.getDetail()));
+    } else if(MavenBuildEvent.ARTIFACT.equals(event.getType())) {
+      artifacts.add(new File(event.getDetail()));
+    } else if(MavenBuildEvent.MOJO_FINISHED.equals(event.getType())) {
+      mojoExecutions.add(event);
+    } else if(MavenBuildEvent.PROJECT_FINISHED.equals(event.getType())) {
+      projectDirectories.add(new File(event.getDetail()));
+    }
+    for(IMavenBuildEventListener listener : listeners) {
+      try {
+        listener.buildEvent(launch, event);
+      } catch(Exception ex) {
+        log.error(ex.getMessage(), ex);
+      }
+    }
+  }
+
+  private void logMojoExecutions() {
+    if(mojoExecutions.isEmpty()) {
+      return;
+    }
+    List<MavenBuildEvent> executions = new ArrayList<MavenBuildEvent>(mojoExecutions);
+    Collections.sort(executions, new Comparator<MavenBuildEvent>() {
+      public int compare(MavenBuildEvent e1, MavenBuildEvent e2) {
+        return Long.compare(e2.getDuration(), e1.getDuration());
+      }
+    });
+    StringBuilder sb = new StringBuilder("Slowest mojo executions of "); //$NON-NLS-1$
+    sb.append(launch.getLaunchConfiguration().getName()).append(':');
+    for(MavenBuildEvent execution : executions.subList(0, Math.min(LOGGED_MOJOS, executions.size()))) {
+      sb.append(String.format("%n  %8d ms %s %s", execution.getDuration(), execution.getDetail(), //$NON-NLS-1$
+          execution.getProject()));
+    }
+    log.info(sb.toString());
+  }
+
+  /**
+   * Waits until the launched build finishes sending events. Returns {@code false} if the build is still running after
+   * the timeout.
+   */
+  public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+    return finished.await(timeout, unit);
+  }
+
+  /**
+   * Returns {@code true} if the launched build connected and reports build events.
+   */
+  public boolean isConnected() {
+    return connected;
+  }
+
+  /**
+   * Directories written by the build so far.
+   */
+  public Set<File> getOutputDirectories() {
+    synchronized(outputDirectories) {
+      return new LinkedHashSet<File>(outputDirectories);
+    }
+  }
+
+  /**
+   * Artifacts produced by the build so far.
+   */
+  public Set<File> getArtifacts() {
+    synchronized(artifacts) {
+      return new LinkedHashSet<File>(artifacts);
+    }
+  }
+
+  /**
+   * Basedirs of projects built so far.
+   */
+  public Set<File> getProjectDirectories() {
+    synchronized(projectDirectories) {
+      return new LinkedHashSet<File>(projectDirectories);
+    }
+  }
+
+  public void handleDebugEvents(DebugEvent[] events) {
+    for(DebugEvent event : events) {
+      if(event.getKind() == DebugEvent.TERMINATE && event.getSource() instanceof IProcess
+          && ((IProcess) event.getSource()).getLaunch() == launch && launch.isTerminated() && !connected) {
+        // the build was terminated before it connected
+        dispose();
+      }
+    }
+  }
+
+  /**
+   * Stops listening for build events.
+   */
+  public void dispose() {
+    DebugPlugin plugin = DebugPlugin.getDefault();
+    if(plugin != null) {
+      plugin.removeDebugEventListener(this);
+    }
+    try {
+      server.close();
+    } catch(IOException ex) {
+      // ignore
+    }
+    synchronized(receivers) {
+      // the launch may have started another build meanwhile
+      if(receivers.get(launch) == this) {
+        receivers.remove(launch);
+      }
+    }
+    finished.countDown();
+  }
+}
@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.eventspy.AbstractEventSpy;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+
+
+/**
+ * Reports build progress of launched maven builds to m2e, runs inside launched maven runtime and must not depend on
+ * anything but JRE and maven core. Registered in META-INF/plexus/components.xml and only active when
+ * {@link #PROPERTY_PORT} system property is set.
+ * <p>
+ * Events are sent over a loopback socket as UTF-8 lines, first line is the token from {@link #PROPERTY_TOKEN}
+ * property. Each event line has tab separated fields: type, project, detail, status, duration in milliseconds, tests,
+ * failures, errors and skipped tests, see {@link MavenBuildEvent}.
+ *
+ * @since 1.8
+ */
+public class MavenBuildEventSpy extends AbstractEventSpy {
+
+  public static final String PROPERTY_PORT = "m2e.events.port"; //$NON-NLS-1$
+
+  public static final String PROPERTY_TOKEN = "m2e.events.token"; //$NON-NLS-1$
+
+  private static final String[] TEST_PLUGINS = {"maven-surefire-plugin", //$NON-NLS-1$
+      "maven-failsafe-plugin"}; //$NON-NLS-1$
+
+  private static final String[] TEST_REPORTS = {"surefire-reports", "failsafe-reports"}; //$NON-NLS-1$ //$NON-NLS-2$
+
+  private Writer out;
+
+  private final Map<Object, Long> startTimes = new ConcurrentHashMap<Object, Long>();
+
+  @Override
+  public void init(Context context) throws Exception {
+    Properties properties = (Properties) context.getData().get("systemProperties"); //$NON-NLS-1$
+    String port = properties != null ? properties.getProperty(PROPERTY_PORT) : System.getProperty(PROPERTY_PORT);
+    String token = properties != null ? properties.getProperty(PROPERTY_TOKEN) : System.getProperty(PROPERTY_TOKEN);
+    if(port == null || token == null) {
+      return;
+    }
+    try {
+      Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(port));
+      out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+      out.write(token);
+      out.write('\n');
+      out.flush();
+    } catch(IOException | NumberFormatException ex) {
+      // m2e is not listening, build runs without events
+      out = null;
+    }
+  }
+
+  @Override
+  public void onEvent(Object event) throws Exception {
+    if(out == null || !(event instanceof ExecutionEvent)) {
+      return;
+    }
+    ExecutionEvent executionEvent = (ExecutionEvent) event;
+    MavenProject project = executionEvent.getProject();
+    MojoExecution execution = executionEvent.getMojoExecution();
+    switch(executionEvent.getType()) {
+      case ProjectStarted:
+        startTimes.put(project, System.currentTimeMillis());
+        send(MavenBuildEvent.PROJECT_STARTED, project, project.getBasedir().getAbsolutePath(), null, 0);
+        break;
+      case ProjectSucceeded:
+      case ProjectFailed:
+        sendOutputs(project);
+        //$FALL-THROUGH$
+      case ProjectSkipped:
+        send(MavenBuildEvent.PROJECT_FINISHED, project, project.getBasedir().getAbsolutePath(),
+            getStatus(executionEvent), getDuration(project));
+        break;
+      case MojoStarted:
+        startTimes.put(execution, System.currentTimeMillis());
+        send(MavenBuildEvent.MOJO_STARTED, project, getMojoId(execution), null, 0);
+        break;
+      case MojoSucceeded:
+      case MojoFailed:
+        Long started = startTimes.get(execution);
+        sendTestResults(project, execution, started != null ? started : 0);
+        //$FALL-THROUGH$
+      case MojoSkipped:
+        send(MavenBuildEvent.MOJO_FINISHED, project, getMojoId(execution), getStatus(executionEvent),
+            getDuration(execution));
+        break;
+      default:
+        break;
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    if(out != null) {
+      out.close();
+      out = null;
+    }
+  }
+
+  private void sendOutputs(MavenProject project) throws IOException {
+    send(MavenBuildEvent.OUTPUT, project, project.getBuild().getDirectory(), null, 0);
+    sendOutput(project, project.getBuild().getOutputDirectory());
+    sendOutput(project, project.getBuild().getTestOutputDirectory());
+    // plugins may generate sources and resources outside of build directory
+    for(String root : project.getCompileSourceRoots()) {
+      sendOutput(project, root);
+    }
+    for(String root : project.getTestCompileSourceRoots()) {
+      sendOutput(project, root);
+    }
+    for(Resource resource : project.getBuild().getResources()) {
+      sendOutput(project, resource.getDirectory());
+    }
+    for(Resource resource : project.getBuild().getTestResources()) {
+      sendOutput(project, resource.getDirectory());
+    }
+    sendArtifact(project, project.getArtifact());
+    for(Artifact artifact : project.getAttachedArtifacts()) {
+      sendArtifact(project, artifact);
+    }
+  }
+
+  private void sendOutput(MavenProject project, String directory) throws IOException {
+    // output folders are usually inside build directory
+    String buildDirectory = project.getBuild().getDirectory();
+    if(directory != null && (buildDirectory == null || !directory.startsWith(buildDirectory + File.separator))) {
+      send(MavenBuildEvent.OUTPUT, project, directory, null, 0);
+    }
+  }
+
+  private void sendArtifact(MavenProject project, Artifact artifact) throws IOException {
+    if(artifact != null && artifact.getFile() != null && artifact.getFile().isFile()) {
+      send(MavenBuildEvent.ARTIFACT, project, artifact.getFile().getAbsolutePath(), null, 0);
+    }
+  }
+
+  /**
+   * Reports test suites written by surefire or failsafe during the mojo execution.
+   */
+  private void sendTestResults(MavenProject project, MojoExecution execution, long started) throws IOException {
+    for(int i = 0; i < TEST_PLUGINS.length; i++ ) {
+      if(!TEST_PLUGINS[i].equals(execution.getArtifactId())) {
+        continue;
+      }
+      File[] reports = new File(project.getBuild().getDirectory(), TEST_REPORTS[i]).listFiles();
+      if(reports == null) {
+        return;
+      }
+      for(File report : reports) {
+        String name = report.getName();
+        // reports written by this execution, with some slack for file system timestamp resolution
+        boolean current = report.lastModified() >= started - 1000;
+        if(current && name.startsWith("TEST-") && name.endsWith(".xml")) { //$NON-NLS-1$ //$NON-NLS-2$
+          sendTestSuite(project, report);
+        }
+      }
+    }
+  }
+
+  private void sendTestSuite(MavenProject project, File report) throws IOException {
+    // only the testsuite element attributes are needed, avoid parsing the whole report
+    byte[] buf = new byte[4096];
+    int len = 0;
+    InputStream is = new FileInputStream(report);
+    try {
+      for(int n; len < buf.length && (n = is.read(buf, len, buf.length - len)) > 0;) {
+        len += n;
+      }
+    } finally {
+      is.close();
+    }
+    String header = new String(buf, 0, len, StandardCharsets.UTF_8);
+    int start = header.indexOf("<testsuite"); //$NON-NLS-1$
+    int end = start >= 0 ? header.indexOf('>', start) : -1;
+    if(end < 0) {
+      return;
+    }
+    String element = header.substring(start, end);
+    String name = getAttribute(element, "name"); //$NON-NLS-1$
+    double time = parseDouble(getAttribute(element, "time")); //$NON-NLS-1$
+    send(MavenBuildEvent.TEST_SUITE, project, name != null ? name : report.getName(), null, (long) (time * 1000),
+        parseInt(getAttribute(element, "tests")), parseInt(getAttribute(element, "failures")), //$NON-NLS-1$ //$NON-NLS-2$
+        parseInt(getAttribute(element, "errors")), parseInt(getAttribute(element, "skipped"))); //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  private static String getAttribute(String element, String name) {
+    String prefix = " " + name + "=\""; //$NON-NLS-1$ //$NON-NLS-2$
+    int start = element.indexOf(prefix);
+    if(start < 0) {
+      return null;
+    }
+    start += prefix.length();
+    int end = element.indexOf('"', start);
+    return end > start ? element.substring(start, end) : null;
+  }
+
+  private static int parseInt(String value) {
+    try {
+      return value != null ? Integer.parseInt(value.trim()) : 0;
+    } catch(NumberFormatException ex) {
+      return 0;
+    }
+  }
+
+  private static double parseDouble(String value) {
+    try {
+      // surefire may format large values with grouping separators
+      return value != null ? Double.parseDouble(value.replace(",", "").trim()) : 0; //$NON-NLS-1$ //$NON-NLS-2$
+    } catch(NumberFormatException ex) {
+      return 0;
+    }
+  }
+
+  private long getDuration(Object key) {
+    Long started = startTimes.remove(key);
+    return started != null ? System.currentTimeMillis() - started : 0;
+  }
+
+  private static String getStatus(ExecutionEvent event) {
+    switch(event.getType()) {
+      case ProjectSucceeded:
+      case MojoSucceeded:
+        return MavenBuildEvent.STATUS_SUCCESS;
+      case ProjectFailed:
+      case MojoFailed:
+        return MavenBuildEvent.STATUS_FAILURE;
+      default:
+        return MavenBuildEvent.STATUS_SKIPPED;
+    }
+  }
+
+  private static String getMojoId(MojoExecution execution) {
+    return execution.getGroupId() + ":" + execution.getArtifactId() + ":" + execution.getVersion() + ":" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        + execution.getGoal() + " (" + execution.getExecutionId() + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  private void send(String type, MavenProject project, String detail, String status, long duration, int... tests)
+      throws IOException {
+    StringBuilder line = new StringBuilder();
+    line.append(type);
+    append(line, project.getGroupId() + ":" + project.getArtifactId() + ":" + project.getVersion()); //$NON-NLS-1$ //$NON-NLS-2$
+    append(line, detail);
+    append(line, status);
+    append(line, Long.toString(duration));
+    for(int i = 0; i < 4; i++ ) {
+      append(line, Integer.toString(i < tests.length ? tests[i] : 0));
+    }
+    line.append('\n');
+    // projects are built concurrently with -T
+    synchronized(this) {
+      if(out != null) {
+        out.write(line.toString());
+        out.flush();
+      }
+    }
+  }
+
+  private static void append(StringBuilder line, String value) {
+    line.append('\t');
+    if(value != null) {
+      line.append(MavenBuildEvent.escape(value));
+    }
+  }
+}
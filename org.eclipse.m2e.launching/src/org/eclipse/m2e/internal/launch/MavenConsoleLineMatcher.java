@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import java.util.List;
+
+import org.eclipse.m2e.internal.launch.MavenConsoleLineTracker.MavenConsoleHyperLink;
+import org.eclipse.m2e.internal.launch.MavenConsoleLineTracker.MavenDebugHyperLink;
+import org.eclipse.m2e.internal.launch.MavenConsoleLineTracker.MavenFileHyperLink;
+
+
+/**
+ * Recognizes surefire test names, debugger listen ports and {@code file:line} references, like
+ * {@code /path/Foo.java:[12,5]} reported by maven compiler, in a single scan of the line.
+ *
+ * @since 1.8
+ */
+public class MavenConsoleLineMatcher implements IMavenConsoleLineMatcher {
+
+  private static final String LISTENING_MARKER = "Listening for transport dt_socket at address: "; //$NON-NLS-1$
+
+  private static final String RUNNING_MARKER = "Running "; //$NON-NLS-1$
+
+  // test name printed by surefire, "  testFoo(org.example.FooTest)"
+  private static final String TEST_MARKER = "  test"; //$NON-NLS-1$
+
+  private final String baseDir;
+
+  public MavenConsoleLineMatcher(String baseDir) {
+    this.baseDir = baseDir;
+  }
+
+  public void match(CharSequence text, int start, int end, List<MavenConsoleLink> links) {
+    if(startsWith(text, start, end, LISTENING_MARKER)) {
+      int portStart = skipWhitespace(text, start + LISTENING_MARKER.length(), end);
+      int portEnd = portStart;
+      while(portEnd < end && !Character.isWhitespace(text.charAt(portEnd))) {
+        portEnd++ ;
+      }
+      String port = text.subSequence(portStart, portEnd).toString();
+      links.add(new MavenConsoleLink(start, portEnd - start, new MavenDebugHyperLink(baseDir, port)));
+      return;
+    }
+
+    int running = -1;
+    int test = -1;
+    int token = start;
+    for(int i = start; i < end; i++ ) {
+      char c = text.charAt(i);
+      if(Character.isWhitespace(c)) {
+        if(test < 0 && running < 0 && startsWith(text, i, end, TEST_MARKER)) {
+          test = i;
+        }
+        token = i + 1;
+      } else if(c == 'R') {
+        if(running < 0 && startsWith(text, i, end, RUNNING_MARKER)) {
+          running = i;
+        }
+      } else if(c == ':' && i > token) {
+        i = matchFileReference(text, token, i, end, links);
+      }
+    }
+
+    if(running >= 0) {
+      int nameStart = running + RUNNING_MARKER.length();
+      int nameEnd = trimEnd(text, nameStart, end);
+      if(nameEnd > nameStart) {
+        String testName = text.subSequence(nameStart, nameEnd).toString();
+        links.add(new MavenConsoleLink(nameStart, nameEnd - nameStart, new MavenConsoleHyperLink(baseDir, testName)));
+      }
+    } else if(test >= 0) {
+      matchTestName(text, test + TEST_MARKER.length(), end, links);
+    }
+  }
+
+  /**
+   * Matches {@code testFoo(org.example.FooTest)}, the last parenthesized qualified name on the line is the test class.
+   */
+  private void matchTestName(CharSequence text, int start, int end, List<MavenConsoleLink> links) {
+    for(int close = end - 1; close > start; close-- ) {
+      if(text.charAt(close) != ')') {
+        continue;
+      }
+      int open = close - 1;
+      while(open > start && isNameChar(text.charAt(open))) {
+        open-- ;
+      }
+      // at least one character between the marker and the opening parenthesis
+      if(open > start && open < close - 1 && text.charAt(open) == '(') {
+        String testName = text.subSequence(open + 1, close).toString();
+        links.add(new MavenConsoleLink(open + 1, close - open - 1, new MavenConsoleHyperLink(baseDir, testName)));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Matches absolute file path followed by {@code :line} or {@code :[line,column]}. Returns index of the last matched
+   * character or {@code colon} if there is no match.
+   */
+  private int matchFileReference(CharSequence text, int pathStart, int colon, int end, List<MavenConsoleLink> links) {
+    if(!isAbsolutePath(text, pathStart, colon)) {
+      return colon;
+    }
+    int i = colon + 1;
+    boolean bracket = i < end && text.charAt(i) == '[';
+    if(bracket) {
+      i++ ;
+    }
+    int line = 0;
+    int lineStart = i;
+    while(i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+      line = line * 10 + text.charAt(i) - '0';
+      i++ ;
+    }
+    if(i == lineStart) {
+      return colon;
+    }
+    if(bracket) {
+      while(i < end && text.charAt(i) != ']' && !Character.isWhitespace(text.charAt(i))) {
+        i++ ;
+      }
+      if(i < end && text.charAt(i) == ']') {
+        i++ ;
+      }
+    }
+    String path = text.subSequence(pathStart, colon).toString();
+    links.add(new MavenConsoleLink(pathStart, i - pathStart, new MavenFileHyperLink(path, line)));
+    return i - 1;
+  }
+
+  /**
+   * Unix absolute path or windows path with drive letter, with file extension.
+   */
+  private static boolean isAbsolutePath(CharSequence text, int start, int end) {
+    boolean absolute = text.charAt(start) == '/' || end - start > 2 && Character.isLetter(text.charAt(start))
+        && text.charAt(start + 1) == ':' && (text.charAt(start + 2) == '\\' || text.charAt(start + 2) == '/');
+    if(!absolute) {
+      return false;
+    }
+    for(int i = end - 1; i > start; i-- ) {
+      char c = text.charAt(i);
+      if(c == '.') {
+        return i < end - 1;
+      } else if(c == '/' || c == '\\') {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isNameChar(char c) {
+    // same as [\w\.] regular expression
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '.';
+  }
+
+  private static boolean startsWith(CharSequence text, int start, int end, String prefix) {
+    if(end - start < prefix.length()) {
+      return false;
+    }
+    for(int i = 0; i < prefix.length(); i++ ) {
+      if(text.charAt(start + i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int skipWhitespace(CharSequence text, int start, int end) {
+    while(start < end && Character.isWhitespace(text.charAt(start))) {
+      start++ ;
+    }
+    return start;
+  }
+
+  private static int trimEnd(CharSequence text, int start, int end) {
+    while(end > start && Character.isWhitespace(text.charAt(end - 1))) {
+      end-- ;
+    }
+    return end;
+  }
+}
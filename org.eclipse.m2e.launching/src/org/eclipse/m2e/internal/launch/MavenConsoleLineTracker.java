@@ -12,17 +12,27 @@
 package org.eclipse.m2e.internal.launch;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
@@ -35,8 +45,10 @@ import org.eclipse.debug.ui.console.IConsole;
 import org.eclipse.debug.ui.console.IConsoleLineTracker;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.ui.IEditorDescriptor;
+import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
@@ -44,6 +56,7 @@ import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.console.IHyperlink;
 import org.eclipse.ui.ide.IDE;
+import org.eclipse.ui.texteditor.ITextEditor;
 
 import org.codehaus.plexus.util.DirectoryScanner;
 
@@ -63,78 +76,114 @@ public class MavenConsoleLineTracker implements IConsoleLineTracker {
 
   private static final String PLUGIN_ID = "org.eclipse.m2e.launching"; //$NON-NLS-1$
 
-  private static final String LISTENING_MARKER = "Listening for transport dt_socket at address: ";
+  /**
+   * Maximum number of lines matched at once.
+   */
+  private static final int MAX_BATCH = 1000;
 
-  private static final String RUNNING_MARKER = "Running ";
+  private IConsole console;
 
-  private static final String TEST_TEMPLATE = "(?:  )test.+\\(([\\w\\.]+)\\)"; //$NON-NLS-1$
+  private List<IMavenConsoleLineMatcher> matchers = Collections.emptyList();
 
-  private static final Pattern PATTERN2 = Pattern.compile(TEST_TEMPLATE);
+  private final Queue<IRegion> lines = new ConcurrentLinkedQueue<IRegion>();
 
-  private IConsole console;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  private final Job matchJob = new Job("Maven console hyperlinks") { //$NON-NLS-1$
+    protected IStatus run(IProgressMonitor monitor) {
+      scheduled.set(false);
+      while(!lines.isEmpty() && !monitor.isCanceled()) {
+        matchLines();
+      }
+      return Status.OK_STATUS;
+    }
+  };
 
   public void init(IConsole console) {
     this.console = console;
-  }
+    matchJob.setSystem(true);
 
-  public void lineAppended(IRegion line) {
     IProcess process = console.getProcess();
     ILaunch launch = process.getLaunch();
     ILaunchConfiguration launchConfiguration = launch.getLaunchConfiguration();
 
     if(launchConfiguration != null && isMavenProcess(launchConfiguration)) {
       try {
-        int offset = line.getOffset();
-        int length = line.getLength();
-
-        String text = console.getDocument().get(offset, length);
-
-        String testName = null;
-
-        int index = text.indexOf(RUNNING_MARKER);
-        if(index > -1) {
-          testName = text.substring(RUNNING_MARKER.length());
-          offset += RUNNING_MARKER.length();
-
-        } else if(text.startsWith(LISTENING_MARKER)) {
-          // create and start remote Java app launch configuration
-          String baseDir = getBaseDir(launchConfiguration);
-          if(baseDir != null) {
-            String portString = text.substring(LISTENING_MARKER.length()).trim();
-            MavenDebugHyperLink link = new MavenDebugHyperLink(baseDir, portString);
-            console.addLink(link, offset, LISTENING_MARKER.length() + portString.length());
-            // launchRemoteJavaApp(baseDir, portString);
-          }
-
-        } else {
-          Matcher m = PATTERN2.matcher(text);
-          if(m.find()) {
-            testName = m.group(1);
-            offset += m.start(1);
-          }
-        }
-
-        if(testName != null) {
-          String baseDir = getBaseDir(launchConfiguration);
-          if(baseDir != null) {
-            MavenConsoleHyperLink link = new MavenConsoleHyperLink(baseDir, testName);
-            console.addLink(link, offset, testName.length());
-          }
+        String baseDir = getBaseDir(launchConfiguration);
+        List<IMavenConsoleLineMatcher> matchers = new ArrayList<IMavenConsoleLineMatcher>();
+        if(baseDir != null) {
+          matchers.add(new MavenConsoleLineMatcher(baseDir));
         }
-
-      } catch(BadLocationException ex) {
-        // ignore
+        matchers.addAll(MavenLaunchExtensionsSupport.create(launchConfiguration, launch).getConsoleLineMatchers(
+            launchConfiguration, launch));
+        this.matchers = matchers;
       } catch(CoreException ex) {
         log.error(ex.getMessage(), ex);
       }
     }
   }
 
+  public void lineAppended(IRegion line) {
+    if(matchers.isEmpty()) {
+      return;
+    }
+    // lines are matched in batches in background
+    lines.add(line);
+    if(scheduled.compareAndSet(false, true)) {
+      matchJob.schedule(100L);
+    }
+  }
+
+  /**
+   * Matches a batch of appended lines, reads console text of all lines in the batch at once.
+   */
+  void matchLines() {
+    List<IRegion> batch = new ArrayList<IRegion>();
+    IRegion line;
+    while(batch.size() < MAX_BATCH && (line = lines.poll()) != null) {
+      batch.add(line);
+    }
+    if(batch.isEmpty()) {
+      return;
+    }
+
+    int offset = batch.get(0).getOffset();
+    IRegion last = batch.get(batch.size() - 1);
+    String text;
+    try {
+      text = console.getDocument().get(offset, last.getOffset() + last.getLength() - offset);
+    } catch(BadLocationException ex) {
+      // console was cleared
+      return;
+    }
+
+    List<MavenConsoleLink> links = new ArrayList<MavenConsoleLink>();
+    for(IRegion region : batch) {
+      int start = region.getOffset() - offset;
+      if(start < 0 || start + region.getLength() > text.length()) {
+        continue;
+      }
+      for(IMavenConsoleLineMatcher matcher : matchers) {
+        try {
+          matcher.match(text, start, start + region.getLength(), links);
+        } catch(RuntimeException ex) {
+          log.error(ex.getMessage(), ex);
+        }
+      }
+    }
+
+    for(MavenConsoleLink link : links) {
+      console.addLink(link.getHyperlink(), offset + link.getOffset(), link.getLength());
+    }
+  }
+
   private String getBaseDir(ILaunchConfiguration launchConfiguration) throws CoreException {
     return launchConfiguration.getAttribute(MavenLaunchConstants.ATTR_POM_DIR, (String) null);
   }
 
   public void dispose() {
+    matchJob.cancel();
+    lines.clear();
   }
 
   private boolean isMavenProcess(ILaunchConfiguration launchConfiguration) {
@@ -208,7 +257,7 @@ public class MavenConsoleLineTracker implements IConsoleLineTracker {
   /**
    * Opens a text editor for Maven test report
    */
-  public class MavenConsoleHyperLink implements IHyperlink {
+  public static class MavenConsoleHyperLink implements IHyperlink {
 
     private final String baseDir;
 
@@ -257,7 +306,7 @@ public class MavenConsoleLineTracker implements IConsoleLineTracker {
    * property can be specified: -Dmaven.surefire.debug=
    * "-Xdebug -Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=8000 -Xnoagent -Djava.compiler=NONE"
    */
-  public class MavenDebugHyperLink implements IHyperlink {
+  public static class MavenDebugHyperLink implements IHyperlink {
 
     private final String baseDir;
 
@@ -284,4 +333,45 @@ public class MavenConsoleLineTracker implements IConsoleLineTracker {
 
   }
 
+  /**
+   * Opens workspace file reported by maven, for example by maven compiler, at the given line.
+   */
+  public static class MavenFileHyperLink implements IHyperlink {
+
+    private final String path;
+
+    private final int line;
+
+    public MavenFileHyperLink(String path, int line) {
+      this.path = path;
+      this.line = line;
+    }
+
+    public void linkActivated() {
+      IFile[] files = ResourcesPlugin.getWorkspace().getRoot().findFilesForLocationURI(new File(path).toURI());
+      if(files.length == 0) {
+        return;
+      }
+      IWorkbenchPage page = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+      try {
+        IEditorPart editor = IDE.openEditor(page, files[0]);
+        if(line > 0 && editor instanceof ITextEditor) {
+          ITextEditor textEditor = (ITextEditor) editor;
+          IDocument document = textEditor.getDocumentProvider().getDocument(textEditor.getEditorInput());
+          IRegion region = document.getLineInformation(line - 1);
+          textEditor.selectAndReveal(region.getOffset(), region.getLength());
+        }
+      } catch(PartInitException | BadLocationException ex) {
+        log.error(ex.getMessage(), ex);
+      }
+    }
+
+    public void linkEntered() {
+    }
+
+    public void linkExited() {
+    }
+
+  }
+
 }
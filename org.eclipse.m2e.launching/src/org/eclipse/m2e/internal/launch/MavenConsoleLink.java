@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import org.eclipse.ui.console.IHyperlink;
+
+
+/**
+ * Hyperlink found by {@link IMavenConsoleLineMatcher} and the range of console text it applies to.
+ *
+ * @since 1.8
+ */
+public class MavenConsoleLink {
+
+  private final int offset;
+
+  private final int length;
+
+  private final IHyperlink hyperlink;
+
+  public MavenConsoleLink(int offset, int length, IHyperlink hyperlink) {
+    this.offset = offset;
+    this.length = length;
+    this.hyperlink = hyperlink;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getLength() {
+    return length;
+  }
+
+  public IHyperlink getHyperlink() {
+    return hyperlink;
+  }
+}
@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
+
+import org.eclipse.m2e.actions.MavenLaunchConstants;
+
+
+/**
+ * Warm maven JVM that runs builds sent over a loopback socket, see {@link MavenDaemonMain} for the protocol.
+ *
+ * @since 1.8
+ */
+public class MavenDaemon {
+  private static final Logger log = LoggerFactory.getLogger(MavenDaemon.class);
+
+  private final Process process;
+
+  private final String token;
+
+  private final int port;
+
+  private volatile long lastUsed = System.currentTimeMillis();
+
+  private MavenDaemon(Process process, String token, int port) {
+    this.process = process;
+    this.token = token;
+    this.port = port;
+  }
+
+  /**
+   * Starts new maven JVM and waits until it is ready to accept builds.
+   *
+   * @param command java executable followed by JVM arguments and classworlds launcher main class
+   */
+  public static MavenDaemon start(List<String> command, Map<String, String> environment, File workingDirectory,
+      int idleTimeout) throws CoreException {
+    String token = UUID.randomUUID().toString();
+    ProcessBuilder builder = new ProcessBuilder(command);
+    // the token is sent through stdin, command line of the process is visible to other users
+    builder.command().add(Integer.toString(idleTimeout));
+    builder.directory(workingDirectory);
+    builder.redirectErrorStream(true);
+    if(environment != null) {
+      builder.environment().clear();
+      builder.environment().putAll(environment);
+    }
+    try {
+      final Process process = builder.start();
+      OutputStream input = process.getOutputStream();
+      try {
+        input.write((token + "\n").getBytes(Charsets.UTF_8)); //$NON-NLS-1$
+      } finally {
+        input.close();
+      }
+      final BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(),
+          Charsets.UTF_8));
+      StringBuilder startup = new StringBuilder();
+      String line;
+      while((line = output.readLine()) != null) {
+        if(line.startsWith(MavenDaemonMain.PORT_PREFIX)) {
+          int port = Integer.parseInt(line.substring(MavenDaemonMain.PORT_PREFIX.length()).trim());
+          Thread drain = new Thread("Maven daemon output") { //$NON-NLS-1$
+            public void run() {
+              try {
+                String line;
+                while((line = output.readLine()) != null) {
+                  log.debug(line);
+                }
+              } catch(IOException ex) {
+                // the daemon is gone
+              }
+            }
+          };
+          drain.setDaemon(true);
+          drain.start();
+          log.info("Started maven daemon on port {}", port); //$NON-NLS-1$
+          return new MavenDaemon(process, token, port);
+        }
+        startup.append(line).append('\n');
+      }
+      throw new IOException(startup.toString());
+    } catch(IOException | NumberFormatException ex) {
+      throw new CoreException(new Status(IStatus.ERROR, MavenLaunchConstants.PLUGIN_ID, -1,
+          NLS.bind(Messages.MavenDaemon_error_start, ex.getMessage()), ex));
+    }
+  }
+
+  public boolean isAlive() {
+    return process.isAlive();
+  }
+
+  public long getLastUsed() {
+    return lastUsed;
+  }
+
+  public void destroy() {
+    process.destroy();
+  }
+
+  /**
+   * Sends the build to the daemon. The returned process terminates when the build completes, destroying it kills the
+   * daemon.
+   */
+  Process build(String workingDirectory, Map<String, String> properties, String[] arguments,
+      final Runnable onCompletion) throws IOException {
+    lastUsed = System.currentTimeMillis();
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    try {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      out.writeUTF(token);
+      out.writeUTF(workingDirectory);
+      out.writeInt(properties.size());
+      for(Map.Entry<String, String> property : properties.entrySet()) {
+        out.writeUTF(property.getKey());
+        out.writeUTF(property.getValue());
+      }
+      out.writeInt(arguments.length);
+      for(String argument : arguments) {
+        out.writeUTF(argument);
+      }
+      out.flush();
+      BuildProcess build = new BuildProcess(socket, onCompletion);
+      build.start();
+      return build;
+    } catch(IOException ex) {
+      socket.close();
+      throw ex;
+    }
+  }
+
+  /**
+   * Build running in the daemon, demultiplexes build output into stdout and stderr streams.
+   */
+  class BuildProcess extends Process {
+    private final Socket socket;
+
+    private final Runnable onCompletion;
+
+    private final PipedInputStream stdout = new PipedInputStream(64 * 1024);
+
+    private final PipedInputStream stderr = new PipedInputStream(16 * 1024);
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private volatile int exitCode = -1;
+
+    BuildProcess(Socket socket, Runnable onCompletion) {
+      this.socket = socket;
+      this.onCompletion = onCompletion;
+    }
+
+    void start() throws IOException {
+      final PipedOutputStream out = new PipedOutputStream(stdout);
+      final PipedOutputStream err = new PipedOutputStream(stderr);
+      final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      Thread reader = new Thread("Maven daemon build") { //$NON-NLS-1$
+        public void run() {
+          try {
+            byte[] buf = new byte[8 * 1024];
+            while(true) {
+              int type = in.readByte();
+              if(type == MavenDaemonMain.FRAME_EXIT) {
+                exitCode = in.readInt();
+                break;
+              }
+              int len = in.readInt();
+              OutputStream target = type == MavenDaemonMain.FRAME_STDERR ? err : out;
+              while(len > 0) {
+                int n = in.read(buf, 0, Math.min(buf.length, len));
+                if(n < 0) {
+                  throw new EOFException();
+                }
+                target.write(buf, 0, n);
+                len -= n;
+              }
+              target.flush();
+            }
+          } catch(IOException ex) {
+            // daemon died or was destroyed
+            BuildProcess.this.destroy();
+          } finally {
+            close(out);
+            close(err);
+            close(socket);
+            lastUsed = System.currentTimeMillis();
+            done.countDown();
+            onCompletion.run();
+          }
+        }
+      };
+      reader.setDaemon(true);
+      reader.start();
+    }
+
+    public OutputStream getOutputStream() {
+      return new OutputStream() {
+        public void write(int b) {
+          // maven runs in batch mode, there is no input
+        }
+      };
+    }
+
+    public InputStream getInputStream() {
+      return stdout;
+    }
+
+    public InputStream getErrorStream() {
+      return stderr;
+    }
+
+    public int waitFor() throws InterruptedException {
+      done.await();
+      return exitCode;
+    }
+
+    public int exitValue() {
+      if(done.getCount() > 0) {
+        throw new IllegalThreadStateException();
+      }
+      return exitCode;
+    }
+
+    public void destroy() {
+      // there is no way to cancel running maven build
+      MavenDaemon.this.destroy();
+    }
+  }
+
+  static void close(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch(IOException ex) {
+      // ignore
+    }
+  }
+}
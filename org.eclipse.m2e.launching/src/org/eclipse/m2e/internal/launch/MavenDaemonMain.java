@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import org.codehaus.plexus.classworlds.ClassWorld;
+
+import org.apache.maven.cli.MavenCli;
+
+
+/**
+ * Main class of warm maven JVMs, runs inside launched maven runtime and must not depend on anything but JRE, plexus
+ * classworlds and maven embedder.
+ * <p>
+ * Listens on a loopback socket and runs one maven build at a time with MavenCli. Request format is token, working
+ * directory, system properties and command line arguments. Build output is sent back as stdout/stderr frames followed
+ * by the exit code. The JVM exits when no build is requested during the idle timeout.
+ *
+ * @see MavenDaemon
+ * @since 1.8
+ */
+public class MavenDaemonMain {
+
+  public static final String PORT_PREFIX = "m2e.daemon.port="; //$NON-NLS-1$
+
+  static final int FRAME_EXIT = 0;
+
+  static final int FRAME_STDOUT = 1;
+
+  static final int FRAME_STDERR = 2;
+
+  /**
+   * How long to wait for the build request after a client connected, in milliseconds.
+   */
+  private static final int REQUEST_TIMEOUT = 60 * 1000;
+
+  /**
+   * Entry point called by plexus classworlds launcher. Argument is idle timeout in seconds, request token is read from
+   * the first line of stdin.
+   */
+  public static void main(String[] args, ClassWorld classWorld) throws Exception {
+    String token = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)).readLine();
+    if(token == null || token.isEmpty()) {
+      throw new IllegalStateException("Missing request token"); //$NON-NLS-1$
+    }
+    int idleTimeout = Integer.parseInt(args[0]);
+
+    // loggers keep references to System.out/err, route them to the current build once and for all
+    PrintStream console = System.out;
+    RoutingOutputStream stdout = new RoutingOutputStream();
+    RoutingOutputStream stderr = new RoutingOutputStream();
+    System.setOut(new PrintStream(stdout, true));
+    System.setErr(new PrintStream(stderr, true));
+
+    MavenCli cli = new MavenCli(classWorld);
+
+    ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    try {
+      server.setSoTimeout(idleTimeout * 1000);
+      console.println(PORT_PREFIX + server.getLocalPort());
+      console.flush();
+
+      while(true) {
+        Socket socket;
+        try {
+          socket = server.accept();
+        } catch(SocketTimeoutException ex) {
+          break; // idle for too long
+        }
+        try {
+          build(cli, socket, token, stdout, stderr);
+        } catch(IOException ex) {
+          // client went away, wait for the next one
+        } finally {
+          stdout.target = null;
+          stderr.target = null;
+          socket.close();
+        }
+      }
+    } finally {
+      server.close();
+    }
+  }
+
+  private static void build(MavenCli cli, Socket socket, String token, RoutingOutputStream stdout,
+      RoutingOutputStream stderr) throws IOException {
+    // stalled or foreign clients must not block the daemon
+    socket.setSoTimeout(REQUEST_TIMEOUT);
+    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    if(!token.equals(in.readUTF())) {
+      return;
+    }
+    String workingDirectory = in.readUTF();
+    Properties properties = new Properties();
+    for(int i = in.readInt(); i > 0; i-- ) {
+      properties.setProperty(in.readUTF(), in.readUTF());
+    }
+    String[] args = new String[in.readInt()];
+    for(int i = 0; i < args.length; i++ ) {
+      args[i] = in.readUTF();
+    }
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    stdout.target = new FrameOutputStream(out, FRAME_STDOUT);
+    stderr.target = new FrameOutputStream(out, FRAME_STDERR);
+
+    Properties systemProperties = (Properties) System.getProperties().clone();
+    int exitCode;
+    try {
+      System.getProperties().putAll(properties);
+      System.setProperty("user.dir", workingDirectory); //$NON-NLS-1$
+      exitCode = cli.doMain(args, workingDirectory, null, null);
+    } catch(Throwable ex) {
+      ex.printStackTrace();
+      exitCode = 1;
+    } finally {
+      System.setProperties(systemProperties);
+      System.out.flush();
+      System.err.flush();
+    }
+
+    synchronized(out) {
+      out.writeByte(FRAME_EXIT);
+      out.writeInt(exitCode);
+      out.flush();
+    }
+  }
+
+  /**
+   * Forwards output to the current build, discards output written between builds.
+   */
+  private static class RoutingOutputStream extends OutputStream {
+    volatile OutputStream target;
+
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    public void write(byte[] b, int off, int len) throws IOException {
+      OutputStream target = this.target;
+      if(target != null) {
+        target.write(b, off, len);
+      }
+    }
+
+    public void flush() throws IOException {
+      OutputStream target = this.target;
+      if(target != null) {
+        target.flush();
+      }
+    }
+  }
+
+  private static class FrameOutputStream extends OutputStream {
+    private final DataOutputStream out;
+
+    private final int type;
+
+    FrameOutputStream(DataOutputStream out, int type) {
+      this.out = out;
+      this.type = type;
+    }
+
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    public void write(byte[] b, int off, int len) throws IOException {
+      synchronized(out) {
+        out.writeByte(type);
+        out.writeInt(len);
+        out.write(b, off, len);
+      }
+    }
+
+    public void flush() throws IOException {
+      synchronized(out) {
+        out.flush();
+      }
+    }
+  }
+}
@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.jdt.internal.launching.StandardVMType;
+import org.eclipse.jdt.launching.IVMInstall;
+import org.eclipse.jdt.launching.IVMRunner;
+import org.eclipse.jdt.launching.VMRunnerConfiguration;
+import org.eclipse.osgi.util.NLS;
+
+import org.eclipse.m2e.actions.MavenLaunchConstants;
+import org.eclipse.m2e.core.internal.Bundles;
+
+
+/**
+ * Runs maven launches in warm maven JVMs. JVMs are pooled by java executable, JVM options including system
+ * properties, classpath, classworlds configuration, environment and working directory. Only system properties m2e
+ * generates for each build are applied to each build separately, see {@link #BUILD_PROPERTIES}. Idle JVMs exit
+ * after {@code -Dorg.eclipse.m2e.launching.daemon.idleTimeout} seconds, 15 minutes by default.
+ *
+ * @since 1.8
+ */
+@SuppressWarnings("restriction")
+public class MavenDaemonRunner implements IVMRunner {
+
+  /**
+   * Default value of {@link MavenLaunchConstants#ATTR_DAEMON} launch configuration attribute.
+   */
+  public static final boolean DEFAULT_ENABLED = Boolean.getBoolean("org.eclipse.m2e.launching.daemon"); //$NON-NLS-1$
+
+  private static final int IDLE_TIMEOUT = Integer.getInteger(
+      "org.eclipse.m2e.launching.daemon.idleTimeout", 15 * 60); //$NON-NLS-1$
+
+  private static final String PROP_CLASSWORLDS_CONF = "classworlds.conf"; //$NON-NLS-1$
+
+  /**
+   * System properties that differ between builds of the same launch configuration, they are not part of the pool key
+   * and are set for the duration of each build.
+   */
+  private static final Set<String> BUILD_PROPERTIES = new HashSet<String>(Arrays.asList( //
+      "maven.multiModuleProjectDirectory", //$NON-NLS-1$
+      MavenBuildEventSpy.PROPERTY_PORT, //
+      MavenBuildEventSpy.PROPERTY_TOKEN));
+
+  private static final Map<String, Deque<MavenDaemon>> pool = new HashMap<String, Deque<MavenDaemon>>();
+
+  /**
+   * All live daemons, idle or running a build, guarded by {@link #pool}.
+   */
+  private static final Set<MavenDaemon> daemons = new HashSet<MavenDaemon>();
+
+  private final IVMInstall vmInstall;
+
+  public MavenDaemonRunner(IVMInstall vmInstall) {
+    this.vmInstall = vmInstall;
+  }
+
+  public void run(VMRunnerConfiguration configuration, ILaunch launch, IProgressMonitor monitor)
+      throws CoreException {
+    File java = StandardVMType.findJavaExecutable(vmInstall.getInstallLocation());
+    if(java == null) {
+      throw new CoreException(new Status(IStatus.ERROR, MavenLaunchConstants.PLUGIN_ID, -1,
+          NLS.bind(Messages.MavenDaemon_error_start, vmInstall.getInstallLocation()), null));
+    }
+
+    List<String> command = new ArrayList<String>();
+    command.add(java.getAbsolutePath());
+    Map<String, String> properties = new LinkedHashMap<String, String>();
+    String classworldsConf = null;
+    for(String argument : configuration.getVMArguments()) {
+      if(!argument.startsWith("-D")) { //$NON-NLS-1$
+        command.add(argument);
+        continue;
+      }
+      int idx = argument.indexOf('=');
+      String name = idx > 0 ? argument.substring(2, idx) : argument.substring(2);
+      String value = idx > 0 ? argument.substring(idx + 1) : ""; //$NON-NLS-1$
+      if(PROP_CLASSWORLDS_CONF.equals(name)) {
+        classworldsConf = value;
+      } else if(BUILD_PROPERTIES.contains(name)) {
+        properties.put(name, value);
+      } else {
+        // many JVM settings, like file.encoding or javax.net.ssl.*, are only read during JVM startup
+        command.add(argument);
+      }
+    }
+    command.add("-classpath"); //$NON-NLS-1$
+    command.add(MavenLaunchUtils.toPath(Arrays.asList(configuration.getClassPath())));
+
+    String daemonConf = getDaemonConfiguration(classworldsConf);
+    Map<String, String> environment = getEnvironment(configuration.getEnvironment());
+    String workingDirectory = configuration.getWorkingDirectory() != null ? configuration.getWorkingDirectory()
+        : System.getProperty("user.dir"); //$NON-NLS-1$
+    // relative files opened by plugins resolve against the JVM working directory, not user.dir
+    String key = command + "\n" + daemonConf + "\n" + environment + "\n" + workingDirectory; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    String[] arguments = configuration.getProgramArguments();
+
+    MavenDaemon daemon;
+    Process process = null;
+    while(process == null && (daemon = acquire(key)) != null) {
+      process = build(key, daemon, workingDirectory, properties, arguments);
+    }
+    if(process == null) {
+      if(monitor.isCanceled()) {
+        throw new OperationCanceledException();
+      }
+      daemon = start(command, daemonConf, configuration.getClassToLaunch(), environment, workingDirectory);
+      process = build(key, daemon, workingDirectory, properties, arguments);
+      if(process == null) {
+        throw new CoreException(new Status(IStatus.ERROR, MavenLaunchConstants.PLUGIN_ID, -1,
+            Messages.MavenDaemonRunner_error_build, null));
+      }
+    }
+
+    String label = NLS.bind(Messages.MavenDaemonRunner_label, java.getAbsolutePath(),
+        DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM).format(new Date()));
+    DebugPlugin.newProcess(launch, process, label);
+  }
+
+  private Process build(final String key, final MavenDaemon daemon, String workingDirectory,
+      Map<String, String> properties, String[] arguments) {
+    try {
+      return daemon.build(workingDirectory, properties, arguments, new Runnable() {
+        public void run() {
+          release(key, daemon);
+        }
+      });
+    } catch(IOException ex) {
+      // the daemon exited after idle timeout or crashed
+      destroy(daemon);
+      return null;
+    }
+  }
+
+  private MavenDaemon start(List<String> command, String daemonConf, String mainType,
+      Map<String, String> environment, String workingDirectory) throws CoreException {
+    File dir = new File(MavenLaunchPlugin.getDefault().getStateLocation().toFile(), "launches"); //$NON-NLS-1$
+    File confFile;
+    try {
+      dir.mkdirs();
+      confFile = File.createTempFile("m2conf", ".tmp", dir); //$NON-NLS-1$ //$NON-NLS-2$
+      Files.write(daemonConf, confFile, Charsets.UTF_8);
+    } catch(IOException ex) {
+      throw new CoreException(new Status(IStatus.ERROR, MavenLaunchConstants.PLUGIN_ID, -1,
+          Messages.MavenLaunchDelegate_error_cannot_create_conf, ex));
+    }
+    try {
+      List<String> daemonCommand = new ArrayList<String>(command);
+      daemonCommand.add("-D" + PROP_CLASSWORLDS_CONF + "=" + confFile.getAbsolutePath()); //$NON-NLS-1$ //$NON-NLS-2$
+      daemonCommand.add(mainType);
+      MavenDaemon daemon = MavenDaemon.start(daemonCommand, environment, new File(workingDirectory), IDLE_TIMEOUT);
+      synchronized(pool) {
+        daemons.add(daemon);
+      }
+      return daemon;
+    } finally {
+      // classworlds configuration is only read during JVM startup
+      confFile.delete();
+    }
+  }
+
+  /**
+   * Classworlds configuration of the launch with daemon main class added to and launched from maven core realm.
+   */
+  private static String getDaemonConfiguration(String classworldsConf) throws CoreException {
+    List<String> lines;
+    try {
+      if(classworldsConf == null) {
+        throw new IOException(PROP_CLASSWORLDS_CONF);
+      }
+      lines = Files.readLines(new File(classworldsConf), Charsets.UTF_8);
+    } catch(IOException ex) {
+      throw new CoreException(new Status(IStatus.ERROR, MavenLaunchConstants.PLUGIN_ID, -1,
+          Messages.MavenLaunchDelegate_error_cannot_create_conf, ex));
+    }
+    // first line is "main is <type> from <realm>", see MavenLauncherConfigurationHandler
+    String mainRealm = lines.get(0).substring(lines.get(0).lastIndexOf(' ') + 1);
+    StringBuilder conf = new StringBuilder();
+    conf.append(NLS.bind("main is {0} from {1}\n", MavenDaemonMain.class.getName(), mainRealm)); //$NON-NLS-1$
+    for(String line : lines.subList(1, lines.size())) {
+      conf.append(line).append('\n');
+      if(line.equals("[" + mainRealm + "]")) { //$NON-NLS-1$ //$NON-NLS-2$
+        for(String entry : Bundles.getClasspathEntries(MavenLaunchPlugin.getDefault().getBundle())) {
+          String load = NLS.bind("load {0}", entry); //$NON-NLS-1$
+          // build event spy loads this bundle into maven 3 core realm already
+          if(!lines.contains(load)) {
+            conf.append(load).append('\n');
+          }
+        }
+      }
+    }
+    return conf.toString();
+  }
+
+  private static Map<String, String> getEnvironment(String[] environment) {
+    if(environment == null) {
+      return null;
+    }
+    Map<String, String> result = new LinkedHashMap<String, String>();
+    for(String variable : environment) {
+      int idx = variable.indexOf('=');
+      if(idx > 0) {
+        result.put(variable.substring(0, idx), variable.substring(idx + 1));
+      }
+    }
+    return result;
+  }
+
+  private static MavenDaemon acquire(String key) {
+    synchronized(pool) {
+      Deque<MavenDaemon> idle = pool.get(key);
+      long expired = System.currentTimeMillis() - IDLE_TIMEOUT * 1000L;
+      while(idle != null && !idle.isEmpty()) {
+        MavenDaemon daemon = idle.pollLast();
+        if(daemon.isAlive() && daemon.getLastUsed() > expired) {
+          return daemon;
+        }
+        destroy(daemon);
+      }
+      return null;
+    }
+  }
+
+  static void release(String key, MavenDaemon daemon) {
+    synchronized(pool) {
+      if(!daemons.contains(daemon) || !daemon.isAlive()) {
+        // disposed while running the build, or died
+        destroy(daemon);
+        return;
+      }
+      Deque<MavenDaemon> idle = pool.get(key);
+      if(idle == null) {
+        idle = new ArrayDeque<MavenDaemon>();
+        pool.put(key, idle);
+      }
+      idle.addLast(daemon);
+    }
+  }
+
+  private static void destroy(MavenDaemon daemon) {
+    synchronized(pool) {
+      daemons.remove(daemon);
+    }
+    daemon.destroy();
+  }
+
+  /**
+   * Kills all warm maven JVMs, including those running a build.
+   */
+  public static void disposeAll() {
+    synchronized(pool) {
+      for(MavenDaemon daemon : daemons) {
+        daemon.destroy();
+      }
+      daemons.clear();
+      pool.clear();
+    }
+  }
+}
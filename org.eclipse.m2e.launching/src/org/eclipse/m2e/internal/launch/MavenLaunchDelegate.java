@@ -15,8 +15,11 @@ import static org.eclipse.m2e.internal.launch.MavenLaunchUtils.quote;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,8 +31,11 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.jdt.launching.IVMRunner;
 import org.eclipse.jdt.launching.JavaLaunchDelegate;
 import org.eclipse.osgi.util.NLS;
@@ -40,9 +46,11 @@ import org.apache.maven.artifact.versioning.VersionRange;
 
 import org.eclipse.m2e.actions.MavenLaunchConstants;
 import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
 import org.eclipse.m2e.core.embedder.IMavenConfiguration;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.launch.AbstractMavenRuntime;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.internal.launch.MavenRuntimeLaunchSupport.VMArguments;
 
 
@@ -56,6 +64,23 @@ public class MavenLaunchDelegate extends JavaLaunchDelegate implements MavenLaun
 
   private static final VersionRange MAVEN_33PLUS_RUNTIMES;
 
+  /**
+   * Maximal number of concurrent builds of a launch with {@link MavenLaunchConstants#ATTR_PARALLEL_MODULES}.
+   */
+  private static final int MAX_PARALLEL_BUILDS = Integer.getInteger("org.eclipse.m2e.launch.maxParallelBuilds", //$NON-NLS-1$
+      Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+
+  /**
+   * Command line options that select reactor modules.
+   */
+  private static final Set<String> REACTOR_OPTIONS = new HashSet<String>(Arrays.asList( //
+      "-pl", "--projects", //$NON-NLS-1$ //$NON-NLS-2$
+      "-rf", "--resume-from", //$NON-NLS-1$ //$NON-NLS-2$
+      "-am", "--also-make", //$NON-NLS-1$ //$NON-NLS-2$
+      "-amd", "--also-make-dependents", //$NON-NLS-1$ //$NON-NLS-2$
+      "-f", "--file", //$NON-NLS-1$ //$NON-NLS-2$
+      "-N", "--non-recursive")); //$NON-NLS-1$ //$NON-NLS-2$
+
   static {
     VersionRange mvn33PlusRange;
     try {
@@ -76,6 +101,13 @@ public class MavenLaunchDelegate extends JavaLaunchDelegate implements MavenLaun
 
   private MavenLaunchExtensionsSupport extensionsSupport;
 
+  private MavenBuildEventReceiver eventReceiver;
+
+  /**
+   * Reactor modules built by the current build or {@code null} to build all modules.
+   */
+  private List<IMavenProjectFacade> modules;
+
   public void launch(ILaunchConfiguration configuration, String mode, ILaunch launch, IProgressMonitor monitor)
       throws CoreException {
     this.launch = launch;
@@ -86,21 +118,119 @@ public class MavenLaunchDelegate extends JavaLaunchDelegate implements MavenLaun
       this.launchSupport = MavenRuntimeLaunchSupport.create(configuration, launch, monitor);
       this.extensionsSupport = MavenLaunchExtensionsSupport.create(configuration, launch);
 
-      log.info("" + getWorkingDirectory(configuration)); //$NON-NLS-1$
-      log.info(" mvn" + getProgramArguments(configuration)); //$NON-NLS-1$
-
       extensionsSupport.configureSourceLookup(configuration, launch, monitor);
 
-      super.launch(configuration, mode, launch, monitor);
+      List<List<IMavenProjectFacade>> groups = getModuleGroups(configuration, monitor);
+      if(groups == null) {
+        launchBuild(configuration, mode, launch, monitor);
+      } else {
+        SubMonitor progress = SubMonitor.convert(monitor, groups.size());
+        for(List<IMavenProjectFacade> group : groups) {
+          this.modules = group;
+          this.programArguments = null;
+          launchBuild(configuration, mode, launch, progress.newChild(1));
+          IProcess[] processes = launch.getProcesses();
+          if(processes.length > 0) {
+            IProcess process = processes[processes.length - 1];
+            process.setAttribute(IProcess.ATTR_PROCESS_LABEL,
+                NLS.bind(Messages.MavenLaunchDelegate_group_label, process.getLabel(), getModuleNames(group)));
+          }
+        }
+      }
     } finally {
       this.launch = null;
       this.monitor = null;
       this.launchSupport = null;
       this.extensionsSupport = null;
+      this.eventReceiver = null;
+      this.modules = null;
     }
   }
 
+  private void launchBuild(ILaunchConfiguration configuration, String mode, ILaunch launch, IProgressMonitor monitor)
+      throws CoreException {
+    log.info("" + getWorkingDirectory(configuration)); //$NON-NLS-1$
+    log.info(" mvn" + getProgramArguments(configuration)); //$NON-NLS-1$
+
+    this.eventReceiver = null;
+    if(launchSupport.getVersion().startsWith("3.")) { //$NON-NLS-1$
+      try {
+        this.eventReceiver = MavenBuildEventReceiver.start(launch);
+      } catch(IOException ex) {
+        log.warn("Could not listen for build events", ex); //$NON-NLS-1$
+      }
+    }
+
+    boolean launched = false;
+    try {
+      super.launch(configuration, mode, launch, monitor);
+      launched = true;
+    } finally {
+      if(!launched && eventReceiver != null) {
+        eventReceiver.dispose();
+      }
+    }
+  }
+
+  /**
+   * Splits the reactor into groups of modules that are built concurrently by separate builds, see
+   * {@link MavenLaunchConstants#ATTR_PARALLEL_MODULES}. Returns {@code null} if the reactor is built by one build.
+   */
+  private List<List<IMavenProjectFacade>> getModuleGroups(ILaunchConfiguration configuration,
+      IProgressMonitor monitor) throws CoreException {
+    if(!configuration.getAttribute(MavenLaunchConstants.ATTR_PARALLEL_MODULES, false)
+        || configuration.getAttribute(MavenLaunchConstants.ATTR_NON_RECURSIVE, false)
+        || !launchSupport.getVersion().startsWith("3.")) { //$NON-NLS-1$
+      return null;
+    }
+    String profiles = configuration.getAttribute(ATTR_PROFILES, (String) null);
+    if(profiles != null && profiles.trim().length() > 0) {
+      // profiles of the launch may add or remove reactor modules
+      return null;
+    }
+    for(String argument : getGoals(configuration).trim().split("\\s+")) { //$NON-NLS-1$
+      if(REACTOR_OPTIONS.contains(argument)) {
+        // the user selected reactor modules
+        return null;
+      }
+      if(argument.startsWith("-P") || argument.startsWith("--activate-profiles")) { //$NON-NLS-1$ //$NON-NLS-2$
+        // profiles may add or remove reactor modules
+        return null;
+      }
+    }
+    String pomDir = LaunchingUtils.substituteVar(configuration.getAttribute(MavenLaunchConstants.ATTR_POM_DIR, "")); //$NON-NLS-1$
+    if(pomDir.isEmpty()) {
+      return null;
+    }
+    try {
+      List<List<IMavenProjectFacade>> groups = MavenReactorGroups.getModuleGroups(new File(pomDir).getAbsoluteFile(),
+          MAX_PARALLEL_BUILDS, monitor);
+      return groups != null && groups.size() > 1 ? groups : null;
+    } catch(CoreException ex) {
+      log.warn("Could not split reactor into module groups", ex); //$NON-NLS-1$
+      return null;
+    }
+  }
+
+  private static String getModuleNames(List<IMavenProjectFacade> group) {
+    StringBuilder sb = new StringBuilder();
+    for(int i = 0; i < group.size() && i < 3; i++ ) {
+      if(i > 0) {
+        sb.append(", "); //$NON-NLS-1$
+      }
+      sb.append(group.get(i).getArtifactKey().getArtifactId());
+    }
+    if(group.size() > 3) {
+      sb.append(", ..."); //$NON-NLS-1$
+    }
+    return sb.toString();
+  }
+
   public IVMRunner getVMRunner(final ILaunchConfiguration configuration, String mode) throws CoreException {
+    if(ILaunchManager.RUN_MODE.equals(mode) && applies(launchSupport.getVersion())
+        && configuration.getAttribute(MavenLaunchConstants.ATTR_DAEMON, MavenDaemonRunner.DEFAULT_ENABLED)) {
+      return launchSupport.decorateVMRunner(new MavenDaemonRunner(getVMInstall(configuration)));
+    }
     return launchSupport.decorateVMRunner(super.getVMRunner(configuration, mode));
   }
 
@@ -120,6 +250,13 @@ public class MavenLaunchDelegate extends JavaLaunchDelegate implements MavenLaun
       StringBuilder sb = new StringBuilder();
       getProperties(sb, configuration);
       getPreferences(sb, configuration, goals);
+      if(modules != null) {
+        sb.append(" -pl "); //$NON-NLS-1$
+        for(int i = 0; i < modules.size(); i++ ) {
+          ArtifactKey key = modules.get(i).getArtifactKey();
+          sb.append(i > 0 ? "," : "").append(key.getGroupId()).append(':').append(key.getArtifactId()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+      }
       sb.append(" ").append(goals);
 
       extensionsSupport.appendProgramArguments(sb, configuration, launch, monitor);
@@ -138,6 +275,10 @@ public class MavenLaunchDelegate extends JavaLaunchDelegate implements MavenLaun
 
     extensionsSupport.appendVMArguments(arguments, configuration, launch, monitor);
 
+    if(eventReceiver != null) {
+      eventReceiver.appendVMArguments(arguments);
+    }
+
     // user configured entries
     arguments.append(super.getVMArguments(configuration));
 
@@ -93,6 +93,22 @@ public class MavenLaunchExtensionsSupport {
     }
   }
 
+  /**
+   * Returns console hyperlink matchers contributed by launch participants.
+   * 
+   * @since 1.8
+   */
+  public List<IMavenConsoleLineMatcher> getConsoleLineMatchers(ILaunchConfiguration configuration, ILaunch launch) {
+    List<IMavenConsoleLineMatcher> matchers = new ArrayList<IMavenConsoleLineMatcher>();
+    for(IMavenLaunchParticipant participant : participants) {
+      List<IMavenConsoleLineMatcher> participantMatchers = participant.getConsoleLineMatchers(configuration, launch);
+      if(participantMatchers != null) {
+        matchers.addAll(participantMatchers);
+      }
+    }
+    return matchers;
+  }
+
   public void appendVMArguments(VMArguments arguments, ILaunchConfiguration configuration, ILaunch launch,
       IProgressMonitor monitor) {
     for(IMavenLaunchParticipant participant : participants) {
@@ -11,13 +11,22 @@
 
 package org.eclipse.m2e.internal.launch;
 
+import java.io.File;
+
+import org.osgi.framework.BundleContext;
+
 import org.eclipse.core.runtime.Plugin;
 
+import org.eclipse.m2e.core.internal.MavenPluginActivator;
+
 
+@SuppressWarnings("restriction")
 public class MavenLaunchPlugin extends Plugin {
 
   private static MavenLaunchPlugin instance;
 
+  private LauncherConfigurationCache launcherConfigurationCache;
+
   public MavenLaunchPlugin() {
     instance = this;
   }
@@ -25,4 +34,25 @@ public class MavenLaunchPlugin extends Plugin {
   public static MavenLaunchPlugin getDefault() {
     return instance;
   }
+
+  @Override
+  public void start(BundleContext context) throws Exception {
+    super.start(context);
+    File launches = new File(getStateLocation().toFile(), "launches"); //$NON-NLS-1$
+    launcherConfigurationCache = new LauncherConfigurationCache(launches);
+    MavenPluginActivator.getDefault().getMavenProjectManager()
+        .addMavenProjectChangedListener(launcherConfigurationCache);
+  }
+
+  @Override
+  public void stop(BundleContext context) throws Exception {
+    MavenPluginActivator.getDefault().getMavenProjectManager()
+        .removeMavenProjectChangedListener(launcherConfigurationCache);
+    MavenDaemonRunner.disposeAll();
+    super.stop(context);
+  }
+
+  public LauncherConfigurationCache getLauncherConfigurationCache() {
+    return launcherConfigurationCache;
+  }
 }
@@ -61,6 +61,18 @@ public class MavenLaunchUtils {
     return Bundles.getClasspathEntries(resolver);
   }
 
+  /**
+   * Classpath entries of {@link MavenBuildEventSpy} to load into maven core realm.
+   * 
+   * @since 1.8
+   */
+  public static List<String> getBuildEventSpy(AbstractMavenRuntime runtime) {
+    if(!runtime.getVersion().startsWith("3.")) { //$NON-NLS-1$
+      return Collections.emptyList();
+    }
+    return Bundles.getClasspathEntries(MavenLaunchPlugin.getDefault().getBundle());
+  }
+
   /**
    * @since 1.4
    */
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Sonatype, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      Sonatype, Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.m2e.internal.launch;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.embedder.ArtifactRef;
+import org.eclipse.m2e.core.internal.IMavenConstants;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.IMavenProjectRegistry;
+
+
+/**
+ * Splits reactor of workspace projects into groups of modules that do not depend on each other, directly or through
+ * other reactor modules, and can be built by concurrent maven builds. Modules depend on their dependencies, build
+ * plugins, plugin dependencies and build extensions, and on their parent if the build can not read it from disk.
+ *
+ * @since 1.8
+ */
+@SuppressWarnings("restriction")
+public class MavenReactorGroups {
+
+  /**
+   * Returns at most {@code maxGroups} groups of modules of the reactor at {@code basedir}, or {@code null} if the
+   * reactor can not be split because some of its modules are not maven workspace projects.
+   */
+  public static List<List<IMavenProjectFacade>> getModuleGroups(File basedir, int maxGroups, IProgressMonitor monitor)
+      throws CoreException {
+    List<IMavenProjectFacade> modules = new ArrayList<IMavenProjectFacade>();
+    File pom = new File(basedir, IMavenConstants.POM_FILE_NAME);
+    if(!collectModules(pom, modules, new HashSet<File>(), monitor)) {
+      return null;
+    }
+
+    Map<String, IMavenProjectFacade> reactor = new HashMap<String, IMavenProjectFacade>();
+    Map<IMavenProjectFacade, IMavenProjectFacade> roots = new LinkedHashMap<IMavenProjectFacade, IMavenProjectFacade>();
+    for(IMavenProjectFacade module : modules) {
+      ArtifactKey key = module.getArtifactKey();
+      reactor.put(getKey(key.getGroupId(), key.getArtifactId()), module);
+      roots.put(module, module);
+    }
+    for(IMavenProjectFacade module : modules) {
+      for(ArtifactRef artifact : module.getMavenProjectArtifacts()) {
+        union(roots, module, reactor.get(getKey(artifact.getGroupId(), artifact.getArtifactId())));
+      }
+      MavenProject project = module.getMavenProject(monitor);
+      // build plugins, their dependencies and build extensions built by the reactor
+      Artifact parent = project.getParentArtifact();
+      if(parent != null) {
+        IMavenProjectFacade parentModule = reactor.get(getKey(parent.getGroupId(), parent.getArtifactId()));
+        if(parentModule != null && !isRelativeParent(module, project.getModel().getParent(), parentModule)) {
+          // parent is resolved from the repository, where it may be installed by another group
+          union(roots, module, parentModule);
+        }
+      }
+      for(Plugin plugin : project.getBuildPlugins()) {
+        union(roots, module, reactor.get(getKey(plugin.getGroupId(), plugin.getArtifactId())));
+        for(Dependency dependency : plugin.getDependencies()) {
+          union(roots, module, reactor.get(getKey(dependency.getGroupId(), dependency.getArtifactId())));
+        }
+      }
+      for(Extension extension : project.getBuildExtensions()) {
+        union(roots, module, reactor.get(getKey(extension.getGroupId(), extension.getArtifactId())));
+      }
+    }
+
+    Map<IMavenProjectFacade, List<IMavenProjectFacade>> components = //
+        new LinkedHashMap<IMavenProjectFacade, List<IMavenProjectFacade>>();
+    for(IMavenProjectFacade module : modules) {
+      IMavenProjectFacade root = find(roots, module);
+      List<IMavenProjectFacade> component = components.get(root);
+      if(component == null) {
+        component = new ArrayList<IMavenProjectFacade>();
+        components.put(root, component);
+      }
+      component.add(module);
+    }
+
+    // largest components first, each to the currently smallest group
+    List<List<IMavenProjectFacade>> sorted = new ArrayList<List<IMavenProjectFacade>>(components.values());
+    Collections.sort(sorted, new Comparator<List<IMavenProjectFacade>>() {
+      public int compare(List<IMavenProjectFacade> c1, List<IMavenProjectFacade> c2) {
+        return c2.size() - c1.size();
+      }
+    });
+    List<List<IMavenProjectFacade>> groups = new ArrayList<List<IMavenProjectFacade>>();
+    for(List<IMavenProjectFacade> component : sorted) {
+      if(groups.size() < maxGroups) {
+        groups.add(new ArrayList<IMavenProjectFacade>(component));
+      } else {
+        List<IMavenProjectFacade> smallest = groups.get(0);
+        for(List<IMavenProjectFacade> group : groups) {
+          if(group.size() < smallest.size()) {
+            smallest = group;
+          }
+        }
+        smallest.addAll(component);
+      }
+    }
+    return groups;
+  }
+
+  private static boolean collectModules(File pom, List<IMavenProjectFacade> modules, Set<File> visited,
+      IProgressMonitor monitor) {
+    if(!visited.add(pom)) {
+      return true;
+    }
+    IMavenProjectRegistry registry = MavenPlugin.getMavenProjectRegistry();
+    IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+    IMavenProjectFacade facade = null;
+    for(IFile file : root.findFilesForLocationURI(pom.toURI())) {
+      facade = registry.create(file, false, monitor);
+      if(facade != null) {
+        break;
+      }
+    }
+    if(facade == null) {
+      // module is not a workspace project, its dependencies are not known
+      return false;
+    }
+    modules.add(facade);
+    for(String module : facade.getMavenProjectModules()) {
+      File modulePom = new File(pom.getParentFile(), module).toPath().normalize().toFile();
+      if(modulePom.isDirectory()) {
+        modulePom = new File(modulePom, IMavenConstants.POM_FILE_NAME);
+      }
+      if(!collectModules(modulePom, modules, visited, monitor)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if the parent of the module is at its relative path, builds read such parents from disk and
+   * do not need them built first. This is the case for the usual aggregator that is also parent of its modules.
+   */
+  private static boolean isRelativeParent(IMavenProjectFacade module, Parent parent, IMavenProjectFacade parentModule) {
+    if(parent == null || parent.getRelativePath() == null || parent.getRelativePath().isEmpty()) {
+      return false;
+    }
+    File pom = new File(module.getPomFile().getParentFile(), parent.getRelativePath()).toPath().normalize().toFile();
+    if(pom.isDirectory()) {
+      pom = new File(pom, IMavenConstants.POM_FILE_NAME);
+    }
+    return pom.equals(parentModule.getPomFile().toPath().normalize().toFile());
+  }
+
+  private static String getKey(String groupId, String artifactId) {
+    return groupId + ":" + artifactId; //$NON-NLS-1$
+  }
+
+  private static IMavenProjectFacade find(Map<IMavenProjectFacade, IMavenProjectFacade> roots,
+      IMavenProjectFacade module) {
+    IMavenProjectFacade root = roots.get(module);
+    while(root != module) {
+      module = root;
+      root = roots.get(module);
+    }
+    return root;
+  }
+
+  private static void union(Map<IMavenProjectFacade, IMavenProjectFacade> roots, IMavenProjectFacade module,
+      IMavenProjectFacade dependency) {
+    if(dependency != null) {
+      roots.put(find(roots, dependency), find(roots, module));
+    }
+  }
+}
@@ -9,20 +9,27 @@
 package org.eclipse.m2e.internal.launch;
 
 import static org.eclipse.m2e.actions.MavenLaunchConstants.ATTR_WORKSPACE_RESOLUTION;
-import static org.eclipse.m2e.actions.MavenLaunchConstants.PLUGIN_ID;
 import static org.eclipse.m2e.core.embedder.IMavenLauncherConfiguration.LAUNCHER_REALM;
 import static org.eclipse.m2e.internal.launch.MavenLaunchUtils.quote;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugPlugin;
@@ -33,9 +40,11 @@ import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.debug.ui.RefreshTab;
 import org.eclipse.jdt.launching.IVMRunner;
 import org.eclipse.jdt.launching.VMRunnerConfiguration;
+import org.eclipse.osgi.util.NLS;
 
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.launch.AbstractMavenRuntime;
+import org.eclipse.m2e.internal.launch.LauncherConfigurationCache.LauncherConfiguration;
 import org.eclipse.m2e.workspace.WorkspaceState;
 
 
@@ -43,7 +52,8 @@ import org.eclipse.m2e.workspace.WorkspaceState;
  * Helper class to configure and launch MavenRuntime instance.
  * <p>
  * Generates classworld configuration file, i.e. m2.conf. Generated classworld configuration file will include
- * cliresolver for launch configuration that have workspace resolution enabled.
+ * cliresolver for launch configuration that have workspace resolution enabled. Configuration files are cached and
+ * shared by launches, see {@link LauncherConfigurationCache}.
  * <p>
  * Sets the following conventional launch configuration attributes.
  * <ul>
@@ -60,6 +70,17 @@ import org.eclipse.m2e.workspace.WorkspaceState;
 @SuppressWarnings("restriction")
 public class MavenRuntimeLaunchSupport {
 
+  /**
+   * Refresh only resources the build reported it wrote instead of the whole configured refresh scope. Files written
+   * elsewhere by plugins, for example copied into an existing folder of the project, are not refreshed.
+   */
+  private static final boolean TARGETED_REFRESH = Boolean.getBoolean("org.eclipse.m2e.launch.targetedRefresh"); //$NON-NLS-1$
+
+  /**
+   * How long to wait for the remaining build events after the launched process terminated, in seconds.
+   */
+  private static final long BUILD_EVENTS_TIMEOUT = 10;
+
   private final AbstractMavenRuntime runtime;
 
   private final MavenLauncherConfigurationHandler cwconf;
@@ -121,47 +142,35 @@ public class MavenRuntimeLaunchSupport {
 
       final AbstractMavenRuntime runtime = MavenLaunchUtils.getMavenRuntime(configuration);
 
-      final MavenLauncherConfigurationHandler cwconf = new MavenLauncherConfigurationHandler();
-      runtime.createLauncherConfiguration(cwconf, monitor);
-      if(injectWorkspaceResolver) {
-        for(String entry : MavenLaunchUtils.getCliResolver(runtime)) {
-          cwconf.forceArchiveEntry(entry);
-        }
-      }
-
-      final File cwconfFile;
-      try {
-        File state = MavenLaunchPlugin.getDefault().getStateLocation().toFile();
-        File dir = new File(state, "launches"); //$NON-NLS-1$
-        dir.mkdirs();
-        cwconfFile = File.createTempFile("m2conf", ".tmp", dir); //$NON-NLS-1$ //$NON-NLS-2$
-        OutputStream os = new FileOutputStream(cwconfFile);
-        try {
-          cwconf.save(os);
-        } finally {
-          os.close();
-        }
-      } catch(IOException e) {
-        throw new CoreException(new Status(IStatus.ERROR, PLUGIN_ID, -1,
-            Messages.MavenLaunchDelegate_error_cannot_create_conf, e));
-      }
+      LauncherConfiguration cwconf = MavenLaunchPlugin.getDefault().getLauncherConfigurationCache().get(runtime,
+          injectWorkspaceResolver, monitor);
 
-      return new MavenRuntimeLaunchSupport(runtime, cwconf, cwconfFile, resolveWorkspaceArtifacts);
+      return new MavenRuntimeLaunchSupport(runtime, cwconf.handler, cwconf.file, resolveWorkspaceArtifacts);
     }
   }
 
   /**
    * Refreshes resources as specified by a launch configuration, when an associated process terminates. Adapted from
    * org.eclipse.ui.externaltools.internal.program.launchConfigurations.BackgroundResourceRefresher
+   * <p>
+   * With {@code -Dorg.eclipse.m2e.launch.targetedRefresh=true}, if the launched build reported build events, only
+   * directories and artifacts written by the build, source and resource folders, project basedirs and directories
+   * created in them are refreshed, within the configured refresh scope and in parallel for each project. Otherwise the
+   * whole refresh scope is refreshed.
    */
   private class BackgroundResourceRefresher implements IDebugEventSetListener {
     final ILaunchConfiguration configuration;
 
     final IProcess process;
 
+    final MavenBuildEventReceiver receiver;
+
     public BackgroundResourceRefresher(ILaunchConfiguration configuration, ILaunch launch) {
       this.configuration = configuration;
-      this.process = launch.getProcesses()[0];
+      // the process just started, launches of reactor module groups have several
+      IProcess[] processes = launch.getProcesses();
+      this.process = processes[processes.length - 1];
+      this.receiver = TARGETED_REFRESH ? MavenBuildEventReceiver.get(launch) : null;
     }
 
     /**
@@ -190,11 +199,12 @@ public class MavenRuntimeLaunchSupport {
     }
 
     protected void processResources() {
-      getClassworldConfFile().delete();
       Job job = new Job(Messages.MavenLaunchDelegate_job_name) {
         public IStatus run(IProgressMonitor monitor) {
           try {
-            RefreshTab.refreshResources(configuration, monitor);
+            if(!refreshBuildOutputs()) {
+              RefreshTab.refreshResources(configuration, monitor);
+            }
             return Status.OK_STATUS;
           } catch(CoreException e) {
             return e.getStatus();
@@ -203,6 +213,120 @@ public class MavenRuntimeLaunchSupport {
       };
       job.schedule();
     }
+
+    /**
+     * Schedules refresh of resources written by the launched build. Returns {@code false} if the build did not report
+     * what it wrote and the whole refresh scope needs to be refreshed.
+     */
+    boolean refreshBuildOutputs() throws CoreException {
+      if(receiver == null || !RefreshTab.isRefreshRecursive(configuration)) {
+        return false;
+      }
+      String scope = RefreshTab.getRefreshScope(configuration);
+      if(scope == null) {
+        // refresh is not enabled for the launch configuration
+        return true;
+      }
+      try {
+        // the build closes its connection when it exits, events are normally all received by now
+        if(!receiver.await(BUILD_EVENTS_TIMEOUT, TimeUnit.SECONDS) || !receiver.isConnected()) {
+          return false;
+        }
+      } catch(InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+
+      IResource[] scopeResources = RefreshTab.getRefreshResources(scope);
+      IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+      Map<IProject, Map<IResource, Integer>> refresh = new LinkedHashMap<IProject, Map<IResource, Integer>>();
+      for(File directory : receiver.getOutputDirectories()) {
+        for(IContainer container : root.findContainersForLocationURI(directory.toURI())) {
+          addRefresh(refresh, scopeResources, container, IResource.DEPTH_INFINITE);
+        }
+      }
+      for(File artifact : receiver.getArtifacts()) {
+        for(IFile file : root.findFilesForLocationURI(artifact.toURI())) {
+          addRefresh(refresh, scopeResources, file, IResource.DEPTH_ZERO);
+        }
+      }
+      for(File basedir : receiver.getProjectDirectories()) {
+        // catches pom.xml and other files the build may have changed next to it
+        for(IContainer container : root.findContainersForLocationURI(basedir.toURI())) {
+          addRefresh(refresh, scopeResources, container, IResource.DEPTH_ONE);
+          // directories created by the build, like modules generated from an archetype
+          File[] children = basedir.listFiles();
+          for(int i = 0; children != null && i < children.length; i++ ) {
+            if(children[i].isDirectory() && container.findMember(children[i].getName()) == null) {
+              addRefresh(refresh, scopeResources, container.getFolder(new Path(children[i].getName())),
+                  IResource.DEPTH_INFINITE);
+            }
+          }
+        }
+      }
+
+      for(final Map.Entry<IProject, Map<IResource, Integer>> entry : refresh.entrySet()) {
+        Job job = new Job(NLS.bind(Messages.MavenLaunchDelegate_refresh_job_name, entry.getKey().getName())) {
+          public IStatus run(IProgressMonitor monitor) {
+            SubMonitor progress = SubMonitor.convert(monitor, entry.getValue().size());
+            try {
+              for(Map.Entry<IResource, Integer> resource : entry.getValue().entrySet()) {
+                resource.getKey().refreshLocal(resource.getValue(), progress.newChild(1));
+              }
+              return Status.OK_STATUS;
+            } catch(CoreException e) {
+              return e.getStatus();
+            }
+          }
+        };
+        job.schedule();
+      }
+      return true;
+    }
+
+    /**
+     * Adds the resource to refresh if it is inside the refresh scope, or the scope resources inside it.
+     */
+    private void addRefresh(Map<IProject, Map<IResource, Integer>> refresh, IResource[] scopeResources,
+        IResource resource, int depth) {
+      for(IResource scopeResource : scopeResources) {
+        if(scopeResource.getFullPath().isPrefixOf(resource.getFullPath())) {
+          addRefresh(refresh, resource, depth);
+          return;
+        }
+      }
+      if(depth == IResource.DEPTH_INFINITE) {
+        for(IResource scopeResource : scopeResources) {
+          if(resource.getFullPath().isPrefixOf(scopeResource.getFullPath())) {
+            addRefresh(refresh, scopeResource, depth);
+          }
+        }
+      }
+    }
+
+    private void addRefresh(Map<IProject, Map<IResource, Integer>> refresh, IResource resource, int depth) {
+      IProject project = resource.getProject();
+      if(project == null) {
+        // workspace root is never written by the build
+        return;
+      }
+      Map<IResource, Integer> resources = refresh.get(project);
+      if(resources == null) {
+        resources = new LinkedHashMap<IResource, Integer>();
+        refresh.put(project, resources);
+      }
+      for(Map.Entry<IResource, Integer> entry : resources.entrySet()) {
+        if(entry.getValue() == IResource.DEPTH_INFINITE
+            && entry.getKey().getFullPath().isPrefixOf(resource.getFullPath())) {
+          // already refreshed with its parent
+          return;
+        }
+      }
+      Integer current = resources.get(resource);
+      if(current == null || current < depth) {
+        resources.put(resource, depth);
+      }
+    }
   }
 
   MavenRuntimeLaunchSupport(AbstractMavenRuntime runtime, MavenLauncherConfigurationHandler cwconf, File cwconfFile,
@@ -291,9 +415,6 @@ public class MavenRuntimeLaunchSupport {
           ILaunchConfiguration configuration = launch.getLaunchConfiguration();
           BackgroundResourceRefresher refresher = new BackgroundResourceRefresher(configuration, launch);
           refresher.init();
-        } else {
-          // the process didn't start, remove temp classworlds.conf right away
-          getClassworldConfFile().delete();
         }
       }
     };
@@ -31,6 +31,10 @@ public class Messages extends NLS {
 
   public static String MavenLaunchDelegate_job_name;
 
+  public static String MavenLaunchDelegate_group_label;
+
+  public static String MavenLaunchDelegate_refresh_job_name;
+
   public static String MavenLaynchDelegate_unsupported_source_locator;
 
   public static String MavenLaunchDelegate_error_cannot_read_jvmConfig;
@@ -51,6 +55,8 @@ public class Messages extends NLS {
 
   public static String MavenLaunchMainTab_btnOffline;
 
+  public static String MavenLaunchMainTab_btnParallelModules;
+
   public static String MavenLaunchMainTab_btnResolveWorkspace;
 
   public static String MavenLaunchMainTab_btnSkipTests;
@@ -79,6 +85,12 @@ public class Messages extends NLS {
 
   public static String MavenLaunchUtils_error_no_maven_install;
 
+  public static String MavenDaemon_error_start;
+
+  public static String MavenDaemonRunner_error_build;
+
+  public static String MavenDaemonRunner_label;
+
   public static String launchPomGroup;
 
   public static String launchBrowseWorkspace;
@@ -120,6 +120,8 @@ public class MavenLaunchMainTab extends AbstractLaunchConfigurationTab implement
 
   private Combo threadsCombo;
 
+  private Button parallelModulesButton;
+
   private MavenRuntimeSelector runtimeSelector;
 
   private Text userSettings;
@@ -310,8 +312,14 @@ public class MavenLaunchMainTab extends AbstractLaunchConfigurationTab implement
       threadsLabel.setText(org.eclipse.m2e.internal.launch.Messages.MavenLaunchMainTab_lblThreads);
       threadsLabel.setToolTipText("--threads"); //$NON-NLS-1$
     }
-    new Label(mainComposite, SWT.NONE);
-    new Label(mainComposite, SWT.NONE);
+
+    parallelModulesButton = new Button(mainComposite, SWT.CHECK);
+    GridData gd_parallelModulesButton = new GridData(SWT.LEFT, SWT.CENTER, false, false, 2, 1);
+    gd_parallelModulesButton.horizontalIndent = 10;
+    parallelModulesButton.setLayoutData(gd_parallelModulesButton);
+    parallelModulesButton.setText(org.eclipse.m2e.internal.launch.Messages.MavenLaunchMainTab_btnParallelModules);
+    parallelModulesButton.setData("name", "parallelModulesButton"); //$NON-NLS-1$ //$NON-NLS-2$
+    parallelModulesButton.addSelectionListener(modyfyingListener);
 
     TableViewer tableViewer = new TableViewer(mainComposite, SWT.BORDER | SWT.FULL_SELECTION | SWT.MULTI);
     tableViewer.addDoubleClickListener(new IDoubleClickListener() {
@@ -480,6 +488,7 @@ public class MavenLaunchMainTab extends AbstractLaunchConfigurationTab implement
       this.nonRecursiveButton.setSelection(getAttribute(configuration, ATTR_NON_RECURSIVE, false));
       this.enableWorkspaceResolution.setSelection(getAttribute(configuration, ATTR_WORKSPACE_RESOLUTION, false));
       this.threadsCombo.select(getAttribute(configuration, ATTR_THREADS, 1) - 1);
+      this.parallelModulesButton.setSelection(getAttribute(configuration, ATTR_PARALLEL_MODULES, false));
 
       this.runtimeSelector.initializeFrom(configuration);
 
@@ -563,6 +572,7 @@ public class MavenLaunchMainTab extends AbstractLaunchConfigurationTab implement
     runtimeSelector.performApply(configuration);
 
     configuration.setAttribute(ATTR_THREADS, threadsCombo.getSelectionIndex() + 1);
+    configuration.setAttribute(ATTR_PARALLEL_MODULES, parallelModulesButton.getSelection());
 
     // store as String in "param=value" format
     List<String> properties = new ArrayList<String>();
@@ -11,26 +11,162 @@
 
 package org.eclipse.m2e.logback.appender;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.osgi.framework.Bundle;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
 
 import org.eclipse.core.runtime.Platform;
 
 
+/**
+ * Forwards log events to the Maven Console.
+ * <p>
+ * In async mode, enabled with {@code <async>true</async>} in logback configuration, events are queued in a bounded
+ * queue of {@code queueSize} events and forwarded to the console in batches by a background thread, so logging threads
+ * do not wait on console. {@code overflowPolicy} decides what happens when the queue is full:
+ * <ul>
+ * <li>{@code BLOCK} - logging thread waits for space in the queue, no events are lost</li>
+ * <li>{@code DROP_DEBUG} - the default, DEBUG and TRACE events are dropped when the queue is 80% full, other events
+ * replace the oldest queued events when the queue is full</li>
+ * <li>{@code DROP_OLDEST} - oldest queued events are dropped</li>
+ * </ul>
+ */
 public class MavenConsoleAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
   private static final String M2E_CORE_UI_BUNDLE_ID = "org.eclipse.m2e.core.ui"; //$NON-NLS-1$
 
+  public static final String POLICY_BLOCK = "BLOCK"; //$NON-NLS-1$
+
+  public static final String POLICY_DROP_DEBUG = "DROP_DEBUG"; //$NON-NLS-1$
+
+  public static final String POLICY_DROP_OLDEST = "DROP_OLDEST"; //$NON-NLS-1$
+
+  private static final int MAX_BATCH = 256;
+
   private Bundle m2eCoreUIBundle;
 
+  private boolean async;
+
+  private int queueSize = 1024;
+
+  private String overflowPolicy = POLICY_DROP_DEBUG;
+
+  private BlockingQueue<ILoggingEvent> queue;
+
+  private Thread worker;
+
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  @Override
+  public void start() {
+    if(async) {
+      if(queueSize < 1) {
+        addError("Invalid queue size " + queueSize); //$NON-NLS-1$
+        return;
+      }
+      if(!POLICY_BLOCK.equals(overflowPolicy) && !POLICY_DROP_DEBUG.equals(overflowPolicy)
+          && !POLICY_DROP_OLDEST.equals(overflowPolicy)) {
+        addError("Invalid overflow policy " + overflowPolicy); //$NON-NLS-1$
+        return;
+      }
+      queue = new ArrayBlockingQueue<ILoggingEvent>(queueSize);
+      worker = new Thread("Maven Console appender") { //$NON-NLS-1$
+        public void run() {
+          drain();
+        }
+      };
+      worker.setDaemon(true);
+      worker.start();
+    }
+    super.start();
+  }
+
+  @Override
+  public void stop() {
+    super.stop();
+    if(worker != null) {
+      worker.interrupt();
+      try {
+        worker.join(1000L);
+      } catch(InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      worker = null;
+      queue = null;
+      if(droppedCount.get() > 0) {
+        addInfo("Dropped " + droppedCount.get() + " events"); //$NON-NLS-1$ //$NON-NLS-2$
+      }
+    }
+  }
+
   @Override
   protected void append(ILoggingEvent logEvent) {
     if(!isActive()) {
       return;
     }
 
-    new MavenConsoleAppenderImpl().append(logEvent);
+    BlockingQueue<ILoggingEvent> queue = this.queue;
+    if(queue == null) {
+      new MavenConsoleAppenderImpl().append(logEvent);
+      return;
+    }
+
+    // event is formatted by the worker thread
+    logEvent.prepareForDeferredProcessing();
+    if(POLICY_BLOCK.equals(overflowPolicy)) {
+      try {
+        queue.put(logEvent);
+      } catch(InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        droppedCount.incrementAndGet();
+      }
+      return;
+    }
+    if(POLICY_DROP_DEBUG.equals(overflowPolicy) && !logEvent.getLevel().isGreaterOrEqual(Level.INFO)
+        && queue.remainingCapacity() < queueSize / 5) {
+      droppedCount.incrementAndGet();
+      return;
+    }
+    while(!queue.offer(logEvent)) {
+      if(queue.poll() != null) {
+        droppedCount.incrementAndGet();
+      }
+    }
+  }
+
+  void drain() {
+    MavenConsoleAppenderImpl impl = new MavenConsoleAppenderImpl();
+    List<ILoggingEvent> batch = new ArrayList<ILoggingEvent>(MAX_BATCH);
+    BlockingQueue<ILoggingEvent> queue = this.queue;
+    try {
+      while(true) {
+        batch.add(queue.take());
+        queue.drainTo(batch, MAX_BATCH - 1);
+        forward(impl, batch);
+      }
+    } catch(InterruptedException ex) {
+      // appender stopped, flush what is left
+      queue.drainTo(batch);
+      forward(impl, batch);
+    }
+  }
+
+  private void forward(MavenConsoleAppenderImpl impl, List<ILoggingEvent> batch) {
+    for(ILoggingEvent logEvent : batch) {
+      try {
+        impl.append(logEvent);
+      } catch(RuntimeException ex) {
+        addError("Could not append event to Maven Console", ex); //$NON-NLS-1$
+      }
+    }
+    batch.clear();
   }
 
   private boolean isActive() {
@@ -44,4 +180,35 @@ public class MavenConsoleAppender extends UnsynchronizedAppenderBase<ILoggingEve
 
     return m2eCoreUIBundle.getState() == Bundle.ACTIVE;
   }
+
+  /**
+   * Returns number of events dropped because the queue was full.
+   */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  public boolean isAsync() {
+    return async;
+  }
+
+  public void setAsync(boolean async) {
+    this.async = async;
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public void setQueueSize(int queueSize) {
+    this.queueSize = queueSize;
+  }
+
+  public String getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public void setOverflowPolicy(String overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+  }
 }